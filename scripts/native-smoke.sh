@@ -0,0 +1,71 @@
+#!/usr/bin/env bash
+# Smoke test for the GraalVM native image: starts the native binary and the JVM jar against the in-memory
+# database (profiles fast-start,embedded). Each is exercised through the API; startup time and resident
+# memory are then reported side by side.
+#
+#   mvn -Pnative -DskipTests package native:compile
+#   scripts/native-smoke.sh
+#
+# Exits non-zero if either build fails to start or answers a request incorrectly. SKIP_NATIVE=1 runs
+# only the JVM half (no GraalVM needed); JVM_CMD overrides how the JVM build is launched.
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+PORT=${PORT:-18080}
+PROFILES=fast-start,embedded
+NATIVE_BIN=${NATIVE_BIN:-target/lab001}
+JAR=$(ls target/lab001-*.jar | grep -v original | head -n 1)
+JVM_CMD=${JVM_CMD:-java -jar $JAR}
+BASE=http://localhost:$PORT
+LOG=$(mktemp)
+PID=
+trap 'rm -f "$LOG"; [[ -n $PID ]] && kill "$PID" 2>/dev/null || true' EXIT
+
+fail() {
+    echo "FAIL: $*" >&2
+    tail -n 30 "$LOG" >&2
+    exit 1
+}
+
+expect() {
+    local description=$1 expected=$2 actual
+    shift 2
+    actual=$(curl -s -o /dev/null -w '%{http_code}' "$@") || true
+    [[ $actual == "$expected" ]] || fail "$description: expected HTTP $expected, got $actual"
+}
+
+smoke() {
+    local name=$1 started
+    shift
+    # shellcheck disable=SC2068
+    $@ --spring.profiles.active=$PROFILES --server.port="$PORT" > "$LOG" 2>&1 &
+    PID=$!
+    until started=$(grep -o 'Started Application in [0-9.]* seconds (process running for [0-9.]*)' "$LOG"); do
+        kill -0 "$PID" 2>/dev/null || fail "$name exited during startup"
+        sleep 0.01
+    done
+
+    expect "$name create group" 200 -X POST -H 'Content-Type: application/json' \
+        -d '{"groupNumber":"999901"}' "$BASE/api/groups"
+    expect "$name list groups" 200 "$BASE/api/groups"
+    expect "$name group by number" 200 "$BASE/api/groups/number/999901"
+    expect "$name missing group" 404 "$BASE/api/groups/987654321"
+    expect "$name changes feed" 200 "$BASE/api/changes"
+    expect "$name OpenAPI document" 200 "$BASE/v3/api-docs"
+    expect "$name liveness" 200 "$BASE/actuator/health/liveness"
+
+    local rss
+    rss=$(awk '/VmRSS/ {print $2}' "/proc/$PID/status")
+    kill "$PID"
+    wait "$PID" 2>/dev/null || true
+    PID=
+    printf '%-7s startup %8s s   RSS after smoke %6d MB\n' "$name" \
+        "$(echo "$started" | sed -E 's/.*process running for ([0-9.]+).*/\1/')" $((rss / 1024))
+}
+
+if [[ -z ${SKIP_NATIVE:-} ]]; then
+    [[ -x $NATIVE_BIN ]] || { echo "Missing $NATIVE_BIN; build it with: mvn -Pnative -DskipTests package native:compile" >&2; exit 1; }
+    smoke native "$NATIVE_BIN"
+fi
+# shellcheck disable=SC2086
+smoke jvm $JVM_CMD
@@ -0,0 +1,70 @@
+#!/usr/bin/env bash
+# Measures startup time of the plain jar against the fast-start build (AOT, AppCDS).
+#
+#   mvn -Pfast-start -DskipTests package
+#   scripts/startup-benchmark.sh [runs]
+#
+# Each variant is started RUNS times (default 5). A run ends when the "Started Application" line is logged, and its
+# wall-clock time (JVM launch included) is recorded. The median per variant is printed. The application needs
+# its database as usual; pass connection settings through JAVA_OPTS, e.g.
+#   JAVA_OPTS="-Dspring.datasource.url=jdbc:postgresql://db:5432/LabSpring -Dspring.datasource.username=..."
+# REFRESH_ONLY=1 stops each run right after the context refresh (spring.context.exit=onRefresh) and
+# measures process exit instead. Use it to compare the build variants without a database.
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+RUNS=${1:-5}
+JAR=$(ls target/lab001-*.jar | grep -v original | head -n 1)
+FAST_DIR=target/fast-start
+FAST_JAR=$FAST_DIR/$(basename "$JAR")
+JAVA_OPTS=${JAVA_OPTS:-}
+LOG=$(mktemp)
+trap 'rm -f "$LOG"' EXIT
+
+if [[ ! -f $FAST_JAR || ! -f $FAST_DIR/application.jsa ]]; then
+    echo "Missing $FAST_DIR; build it with: mvn -Pfast-start -DskipTests package" >&2
+    exit 1
+fi
+
+run_once() {
+    local start end pid
+    start=$(date +%s%N)
+    if [[ -n ${REFRESH_ONLY:-} ]]; then
+        # shellcheck disable=SC2086
+        java $JAVA_OPTS -Dspring.context.exit=onRefresh "$@" > "$LOG" 2>&1 || true
+        end=$(date +%s%N)
+    else
+        # shellcheck disable=SC2086
+        java $JAVA_OPTS "$@" > "$LOG" 2>&1 &
+        pid=$!
+        until grep -q "Started Application" "$LOG"; do
+            if ! kill -0 "$pid" 2>/dev/null; then
+                echo "Application exited before startup completed:" >&2
+                tail -n 20 "$LOG" >&2
+                exit 1
+            fi
+            sleep 0.02
+        done
+        end=$(date +%s%N)
+        kill "$pid" && wait "$pid" 2>/dev/null || true
+    fi
+    echo $(((end - start) / 1000000))
+}
+
+measure() {
+    local name=$1
+    shift
+    local times=()
+    for ((i = 0; i < RUNS; i++)); do
+        times+=("$(run_once "$@")")
+    done
+    local sorted
+    sorted=$(printf '%s\n' "${times[@]}" | sort -n)
+    printf '%-22s median %6d ms   runs: %s\n' "$name" \
+        "$(echo "$sorted" | sed -n "$(((RUNS + 1) / 2))p")" "$(echo "$sorted" | tr '\n' ' ')"
+}
+
+measure "default" -jar "$JAR"
+measure "fast-start" -Dspring.aot.enabled=true -Dspring.profiles.active=fast-start -jar "$FAST_JAR"
+measure "fast-start + AppCDS" -XX:SharedArchiveFile="$FAST_DIR/application.jsa" \
+    -Dspring.aot.enabled=true -Dspring.profiles.active=fast-start -jar "$FAST_JAR"
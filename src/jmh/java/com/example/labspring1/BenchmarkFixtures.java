@@ -0,0 +1,75 @@
+package com.example.labspring1;
+
+import com.example.labspring1.dto.ScheduleDto;
+import com.example.labspring1.model.Group;
+import com.example.labspring1.model.Schedule;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public final class BenchmarkFixtures {
+
+    public static final String[] DAYS = {"Понедельник", "Вторник", "Среда", "Четверг", "Пятница", "Суббота"};
+    private static final String[] SUBJECTS = {"Математика", "Физика", "Программирование", "Философия", "История"};
+    private static final String[] TYPES = {"ЛК", "ПЗ", "ЛР"};
+
+    private BenchmarkFixtures() {
+    }
+
+    public static Group group(long id, int schedules) {
+        Group group = new Group("3347" + String.format("%02d", id % 100));
+        group.setId(id);
+        for (int i = 0; i < schedules; i++) {
+            Schedule schedule = new Schedule(SUBJECTS[i % SUBJECTS.length], TYPES[i % TYPES.length],
+                    "10:05-11:25", (100 + i) + "-1", group);
+            schedule.setId(id * 1_000 + i);
+            group.getSchedules().add(schedule);
+        }
+        return group;
+    }
+
+    public static List<ScheduleDto> scheduleDtos(int count) {
+        List<ScheduleDto> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ScheduleDto dto = new ScheduleDto((long) i, SUBJECTS[i % SUBJECTS.length], TYPES[i % TYPES.length],
+                    "10:05-11:25", (100 + i % 50) + "-1", (long) (i % 40));
+            dto.setGroupNumber("3347" + String.format("%02d", i % 40));
+            result.add(dto);
+        }
+        return result;
+    }
+
+    public static String timetableJson(int lessonsPerDay) throws JsonProcessingException {
+        Map<String, Object> schedules = new LinkedHashMap<>();
+        for (String day : DAYS) {
+            List<Map<String, Object>> lessons = new ArrayList<>();
+            for (int i = 0; i < lessonsPerDay; i++) {
+                lessons.add(lesson(i));
+            }
+            schedules.put(day, lessons);
+        }
+        Map<String, Object> root = new LinkedHashMap<>();
+        root.put("startDate", "09.02.2025");
+        root.put("endDate", "31.05.2025");
+        root.put("schedules", schedules);
+        return new ObjectMapper().writeValueAsString(root);
+    }
+
+    public static Map<String, Object> lesson(int i) {
+        Map<String, Object> lesson = new LinkedHashMap<>();
+        lesson.put("subjectFullName", SUBJECTS[i % SUBJECTS.length]);
+        lesson.put("lessonTypeAbbrev", TYPES[i % TYPES.length]);
+        lesson.put("startLessonTime", "10:05");
+        lesson.put("endLessonTime", "11:25");
+        lesson.put("auditories", List.of((100 + i) + "-1"));
+        lesson.put("weekNumber", i % 2 == 0 ? List.of(1, 2, 3, 4) : List.of(1, 3));
+        lesson.put("startLessonDate", "10.02.2025");
+        lesson.put("endLessonDate", "30.05.2025");
+        lesson.put("dateLesson", null);
+        return lesson;
+    }
+}
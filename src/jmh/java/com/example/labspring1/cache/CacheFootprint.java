@@ -0,0 +1,106 @@
+package com.example.labspring1.cache;
+
+import com.example.labspring1.dto.GroupDto;
+import com.example.labspring1.dto.ScheduleDto;
+import org.openjdk.jol.info.GraphLayout;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Retained heap of a warmed full-university cache, measured with JOL: every group with its schedules
+ * (group, findByGroupNumber and findAll regions) plus the schedule findAll and findByGroupId lists.
+ * Each row gets its own string and Long instances, as it does when Hibernate loads it. The baseline keeps
+ * them as loaded, the way the regions did before {@link CacheManager} started canonicalizing them.
+ *
+ * <pre>mvn -Pbenchmark -DskipTests test-compile exec:exec@cache-footprint</pre>
+ */
+public final class CacheFootprint {
+
+    private static final String[] SUBJECTS = {"Математика", "Физика", "Программирование", "Философия", "История",
+            "Английский язык", "Базы данных", "Операционные системы", "Компьютерные сети", "Экономика"};
+    private static final String[] TYPES = {"ЛК", "ПЗ", "ЛР"};
+    private static final String[] TIMES = {"08:30-09:55", "10:05-11:30", "11:40-13:05", "13:25-14:50",
+            "15:00-16:25", "16:35-18:00"};
+
+    private CacheFootprint() {
+    }
+
+    public static void main(String[] args) {
+        int groups = Integer.getInteger("footprint.groups", 1_500);
+        int schedulesPerGroup = Integer.getInteger("footprint.schedulesPerGroup", 40);
+
+        List<GroupDto> baselineGroups = load(groups, schedulesPerGroup);
+        Map<String, Object> baseline = new HashMap<>();
+        Map<Long, GroupDto> groupRegion = new ConcurrentHashMap<>();
+        Map<String, List<ScheduleDto>> scheduleListRegion = new ConcurrentHashMap<>();
+        baselineGroups.forEach(group -> groupRegion.put(group.getId(), group));
+        baseline.put("groups", groupRegion);
+        baseline.put("groupList", baselineGroups);
+        scheduleListRegion.put("findAll", flatten(load(groups, schedulesPerGroup)));
+        load(groups, schedulesPerGroup).forEach(group ->
+                scheduleListRegion.put("findByGroupId:" + group.getId(), group.getSchedules()));
+        baseline.put("scheduleLists", scheduleListRegion);
+
+        CacheManager cacheManager = new CacheManager();
+        List<GroupDto> cachedGroups = load(groups, schedulesPerGroup);
+        cachedGroups.forEach(group -> {
+            cacheManager.putGroup(group.getId(), group);
+            cacheManager.putGroupList("findByGroupNumber:" + group.getGroupNumber(), List.of(group));
+        });
+        cacheManager.putGroupList("findAll", cachedGroups);
+        cacheManager.putScheduleList("findAll", flatten(load(groups, schedulesPerGroup)));
+        load(groups, schedulesPerGroup).forEach(group ->
+                cacheManager.putScheduleList("findByGroupId:" + group.getId(), group.getSchedules()));
+        Map<String, Object> compacted = new HashMap<>();
+        compacted.put("groups", cacheManager.groups());
+        compacted.put("groupLists", cacheManager.groupLists());
+        compacted.put("scheduleLists", cacheManager.scheduleLists());
+        compacted.put("dictionary", cacheManager.dictionary().values());
+
+        long before = GraphLayout.parseInstance(baseline).totalSize();
+        long after = GraphLayout.parseInstance(compacted).totalSize();
+        System.out.printf("%d groups x %d schedules (%d schedules, cached three times)%n",
+                groups, schedulesPerGroup, groups * schedulesPerGroup);
+        System.out.printf("as loaded:   %,d bytes%n", before);
+        System.out.printf("compacted:   %,d bytes (%.1f%% smaller)%n", after, 100.0 * (before - after) / before);
+        System.out.printf("dictionary:  %d values%n", cacheManager.dictionary().values().size());
+    }
+
+    private static List<GroupDto> load(int groups, int schedulesPerGroup) {
+        List<GroupDto> result = new ArrayList<>(groups);
+        for (int g = 0; g < groups; g++) {
+            long groupId = 10_000L + g;
+            String groupNumber = String.valueOf(300_000 + g);
+            List<ScheduleDto> schedules = new ArrayList<>();
+            for (int i = 0; i < schedulesPerGroup; i++) {
+                int lesson = g * 7 + i;
+                ScheduleDto schedule = new ScheduleDto(groupId * 1_000 + i,
+                        copy(SUBJECTS[lesson % SUBJECTS.length]),
+                        copy(TYPES[lesson % TYPES.length]),
+                        copy(TIMES[i % TIMES.length]),
+                        (100 + lesson % 400) + "-" + (1 + lesson % 5),
+                        Long.valueOf(groupId));
+                schedule.setVersion(0L);
+                schedules.add(schedule);
+            }
+            GroupDto group = new GroupDto(groupId, groupNumber, schedules);
+            group.setVersion(0L);
+            result.add(group);
+        }
+        return result;
+    }
+
+    private static String copy(String value) {
+        return new String(value.toCharArray());
+    }
+
+    private static List<ScheduleDto> flatten(List<GroupDto> groups) {
+        List<ScheduleDto> result = new ArrayList<>();
+        groups.forEach(group -> result.addAll(group.getSchedules()));
+        return result;
+    }
+}
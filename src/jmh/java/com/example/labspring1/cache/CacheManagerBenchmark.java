@@ -0,0 +1,65 @@
+package com.example.labspring1.cache;
+
+import com.example.labspring1.BenchmarkFixtures;
+import com.example.labspring1.dto.GroupDto;
+import com.example.labspring1.dto.ScheduleDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+@State(Scope.Group)
+public class CacheManagerBenchmark {
+
+    private static final int KEYS = 1_024;
+
+    private CacheManager cacheManager;
+    private List<ScheduleDto> scheduleList;
+    private GroupDto groupDto;
+
+    @Setup
+    public void setUp() {
+        cacheManager = new CacheManager();
+        scheduleList = BenchmarkFixtures.scheduleDtos(30);
+        groupDto = new GroupDto(1L, "334701", List.of());
+        for (long i = 0; i < KEYS; i++) {
+            cacheManager.putGroup(i, groupDto);
+            cacheManager.putScheduleList("findByGroupId:" + i, scheduleList);
+        }
+    }
+
+    @Benchmark
+    @Group("readHeavy")
+    @GroupThreads(7)
+    public GroupDto readHeavyGet() {
+        long key = ThreadLocalRandom.current().nextLong(KEYS);
+        return cacheManager.containsGroupKey(key) ? cacheManager.getGroup(key) : null;
+    }
+
+    @Benchmark
+    @Group("readHeavy")
+    @GroupThreads(1)
+    public void readHeavyPut() {
+        cacheManager.putGroup(ThreadLocalRandom.current().nextLong(KEYS), groupDto);
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(4)
+    public List<ScheduleDto> mixedGet() {
+        String key = "findByGroupId:" + ThreadLocalRandom.current().nextInt(KEYS);
+        return cacheManager.getScheduleList(key);
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(4)
+    public void mixedPut() {
+        cacheManager.putScheduleList("findByGroupId:" + ThreadLocalRandom.current().nextInt(KEYS), scheduleList);
+    }
+}
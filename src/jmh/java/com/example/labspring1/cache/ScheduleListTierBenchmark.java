@@ -0,0 +1,95 @@
+package com.example.labspring1.cache;
+
+import com.example.labspring1.dto.ScheduleDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * A semester of per-day schedule lists for every group, read with a hot set of recent days; one request
+ * in a hundred reloads a random list, as happens after invalidation. Each read renders the list, as a
+ * request would, so the collector runs under both tiers. Compare {@code gc.time}
+ * and {@code gc.count} from the GC profiler: "onHeap" keeps every list in the on-heap region, "offHeap"
+ * keeps the hot lists on-heap and demotes the rest. The heap is sized so the semester held on-heap
+ * crosses G1's marking threshold, as a full cache does in production; young pauses alone barely differ.
+ */
+@State(Scope.Benchmark)
+@Fork(jvmArgsAppend = {"-Xms256m", "-Xmx256m", "-XX:MaxDirectMemorySize=512m"})
+public class ScheduleListTierBenchmark {
+
+    private static final int GROUPS = 1_500;
+    private static final int DAYS = 120;
+    private static final int LESSONS = 6;
+    private static final int HOT_KEYS = 3_000;
+    private static final String[] SUBJECTS = {"Математика", "Физика", "Программирование", "Философия", "История"};
+    private static final String[] TYPES = {"ЛК", "ПЗ", "ЛР"};
+
+    @Param({"onHeap", "offHeap"})
+    private String tier;
+
+    private CacheManager cacheManager;
+    private String[] keys;
+
+    @Setup
+    public void setUp() {
+        cacheManager = "onHeap".equals(tier)
+                ? new CacheManager(30_000, 100_000, 0, 0, 2, 1_000)
+                : new CacheManager(30_000, 100_000, 5_000, 256L << 20, 2, 1_000);
+        keys = new String[GROUPS * DAYS];
+        LocalDate start = LocalDate.of(2025, 2, 3);
+        for (int day = 0; day < DAYS; day++) {
+            String date = start.plusDays(day).toString();
+            for (int group = 0; group < GROUPS; group++) {
+                String groupNumber = String.valueOf(300_000 + group);
+                String key = "findByGroupNumberAndDate:" + groupNumber + ":" + date;
+                keys[day * GROUPS + group] = key;
+                cacheManager.putScheduleList(key, lessons(group, day, groupNumber));
+            }
+        }
+    }
+
+    @Benchmark
+    public String read() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        if (random.nextInt(100) == 0) {
+            int index = random.nextInt(keys.length);
+            cacheManager.putScheduleList(keys[index], lessons(index % GROUPS, index / GROUPS,
+                    String.valueOf(300_000 + index % GROUPS)));
+        }
+        String key = random.nextInt(100) == 0
+                ? keys[random.nextInt(keys.length)]
+                : keys[keys.length - 1 - random.nextInt(HOT_KEYS)];
+        StringBuilder response = new StringBuilder(512).append('[');
+        for (ScheduleDto schedule : cacheManager.getScheduleList(key)) {
+            response.append("{\"id\":").append(schedule.getId())
+                    .append(",\"subject\":\"").append(schedule.getSubject())
+                    .append("\",\"lessonType\":\"").append(schedule.getLessonType())
+                    .append("\",\"time\":\"").append(schedule.getTime())
+                    .append("\",\"auditorium\":\"").append(schedule.getAuditorium())
+                    .append("\",\"groupId\":").append(schedule.getGroupId()).append("},");
+        }
+        return response.append(']').toString();
+    }
+
+    private static List<ScheduleDto> lessons(int group, int day, String groupNumber) {
+        List<ScheduleDto> result = new ArrayList<>(LESSONS);
+        for (int i = 0; i < LESSONS; i++) {
+            int lesson = group * 7 + day + i;
+            ScheduleDto schedule = new ScheduleDto(((long) group * DAYS + day) * LESSONS + i,
+                    SUBJECTS[lesson % SUBJECTS.length], TYPES[lesson % TYPES.length],
+                    String.format("%02d:00-%02d:20", 8 + i * 2, 9 + i * 2), (100 + lesson % 400) + "-1",
+                    10_000L + group);
+            schedule.setGroupNumber(groupNumber);
+            result.add(schedule);
+        }
+        return result;
+    }
+}
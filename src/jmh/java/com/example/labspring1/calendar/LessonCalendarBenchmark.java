@@ -0,0 +1,47 @@
+package com.example.labspring1.calendar;
+
+import com.example.labspring1.BenchmarkFixtures;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.Map;
+
+@State(Scope.Benchmark)
+public class LessonCalendarBenchmark {
+
+    private LessonCalendar lessonCalendar;
+    private Map<String, Object> response;
+    private Timetable timetable;
+    private LocalDate targetDate;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setUp() throws IOException {
+        lessonCalendar = new LessonCalendar("");
+        response = new ObjectMapper().readValue(BenchmarkFixtures.timetableJson(6), Map.class);
+        timetable = lessonCalendar.compile("334701", response);
+        targetDate = LocalDate.of(2025, 3, 12);
+    }
+
+    @Benchmark
+    public Timetable compileTimetable() {
+        return lessonCalendar.compile("334701", response);
+    }
+
+    @Benchmark
+    public int lessonsOnDate() {
+        int dayIndex = timetable.dayIndex(targetDate);
+        int count = 0;
+        for (CompiledLesson lesson : timetable.lessonsFor(targetDate.getDayOfWeek())) {
+            if (lesson.occursOn(dayIndex)) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.labspring1.client;
+
+import com.example.labspring1.BenchmarkFixtures;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.util.Map;
+
+@State(Scope.Benchmark)
+public class BsuirParsingBenchmark {
+
+    @Param({"4", "8"})
+    private int lessonsPerDay;
+
+    private BsuirClient bsuirClient;
+    private String json;
+
+    @Setup
+    public void setUp() throws IOException {
+        bsuirClient = new BsuirClient("http://localhost/%s", 5, 30, new RestTemplate(), new SimpleMeterRegistry());
+        json = BenchmarkFixtures.timetableJson(lessonsPerDay);
+    }
+
+    @Benchmark
+    public Map<String, Object> parseTimetable() throws IOException {
+        return bsuirClient.parse(json);
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.labspring1.dto;
+
+import com.example.labspring1.BenchmarkFixtures;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Compares JSON with the CBOR and Smile encodings served through content negotiation.
+ * The {@code payloadBytes} counter reports the encoded size of one response.
+ */
+@State(Scope.Benchmark)
+public class BinaryFormatBenchmark {
+
+    private static final TypeReference<List<ScheduleDto>> SCHEDULE_LIST = new TypeReference<>() {
+    };
+
+    @Param({"json", "cbor", "smile"})
+    private String format;
+
+    @Param({"100", "5000"})
+    private int size;
+
+    private ObjectMapper mapper;
+    private List<ScheduleDto> schedules;
+    private byte[] encoded;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Payload {
+        public long payloadBytes;
+    }
+
+    @Setup
+    public void setUp() throws IOException {
+        mapper = switch (format) {
+            case "cbor" -> new CBORMapper();
+            case "smile" -> new SmileMapper();
+            default -> new ObjectMapper();
+        };
+        schedules = BenchmarkFixtures.scheduleDtos(size);
+        encoded = mapper.writeValueAsBytes(schedules);
+    }
+
+    @Benchmark
+    public byte[] serialize(Payload payload) throws IOException {
+        byte[] bytes = mapper.writeValueAsBytes(schedules);
+        payload.payloadBytes = bytes.length;
+        return bytes;
+    }
+
+    @Benchmark
+    public List<ScheduleDto> deserialize() throws IOException {
+        return mapper.readValue(encoded, SCHEDULE_LIST);
+    }
+}
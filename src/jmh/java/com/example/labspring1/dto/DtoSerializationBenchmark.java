@@ -0,0 +1,40 @@
+package com.example.labspring1.dto;
+
+import com.example.labspring1.BenchmarkFixtures;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+
+@State(Scope.Benchmark)
+public class DtoSerializationBenchmark {
+
+    @Param({"1", "100", "5000"})
+    private int size;
+
+    private ObjectMapper objectMapper;
+    private List<ScheduleDto> schedules;
+    private GroupDto group;
+
+    @Setup
+    public void setUp() {
+        objectMapper = new ObjectMapper();
+        schedules = BenchmarkFixtures.scheduleDtos(size);
+        group = new GroupDto(1L, "334701", schedules);
+    }
+
+    @Benchmark
+    public byte[] scheduleList() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(schedules);
+    }
+
+    @Benchmark
+    public byte[] groupWithSchedules() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(group);
+    }
+}
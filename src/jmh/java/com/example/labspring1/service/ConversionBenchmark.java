@@ -0,0 +1,42 @@
+package com.example.labspring1.service;
+
+import com.example.labspring1.BenchmarkFixtures;
+import com.example.labspring1.dto.GroupDto;
+import com.example.labspring1.dto.ScheduleDto;
+import com.example.labspring1.model.Group;
+import com.example.labspring1.model.Schedule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+@State(Scope.Benchmark)
+public class ConversionBenchmark {
+
+    @Param({"0", "30", "300"})
+    private int schedulesPerGroup;
+
+    private GroupService groupService;
+    private ScheduleService scheduleService;
+    private Group group;
+    private Schedule schedule;
+
+    @Setup
+    public void setUp() {
+        groupService = new GroupService(null, null, null, null, null, null);
+        scheduleService = new ScheduleService(null, null, null, null, null, null, null, null, null);
+        group = BenchmarkFixtures.group(1L, schedulesPerGroup);
+        schedule = BenchmarkFixtures.group(2L, 1).getSchedules().get(0);
+    }
+
+    @Benchmark
+    public GroupDto groupToDto() {
+        return groupService.convertToDto(group);
+    }
+
+    @Benchmark
+    public ScheduleDto scheduleToDto() {
+        return scheduleService.convertToDto(schedule);
+    }
+}
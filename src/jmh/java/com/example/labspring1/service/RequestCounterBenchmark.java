@@ -0,0 +1,24 @@
+package com.example.labspring1.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+@State(Scope.Benchmark)
+public class RequestCounterBenchmark {
+
+    private final RequestCounter requestCounter = new RequestCounter();
+
+    @Benchmark
+    @Threads(1)
+    public void incrementUncontended() {
+        requestCounter.increment();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public void incrementContended() {
+        requestCounter.increment();
+    }
+}
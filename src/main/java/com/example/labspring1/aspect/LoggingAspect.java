@@ -1,32 +1,127 @@
 package com.example.labspring1.aspect;
 
-import org.aspectj.lang.JoinPoint;
-import org.aspectj.lang.annotation.AfterThrowing;
-import org.aspectj.lang.annotation.Before;
+import com.example.labspring1.exception.InvalidRequestException;
+import com.example.labspring1.exception.NotFoundException;
+import com.example.labspring1.exception.VersionConflictException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
-import java.util.Arrays;
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
 
 @Aspect
 @Component
 public class LoggingAspect {
     private static final Logger logger = LoggerFactory.getLogger(LoggingAspect.class);
+    private static final int MAX_ARG_LENGTH = 200;
 
-    @Before("execution(* com.example.labspring1.service.*.*(..))")
-    public void logMethodCall(JoinPoint joinPoint) {
-        String methodName = joinPoint.getSignature().getName();
-        String className = joinPoint.getTarget().getClass().getSimpleName();
-        Object[] args = joinPoint.getArgs();
-        logger.info("Executing {}.{} with arguments: {}", className, methodName, Arrays.toString(args));
+    private final Map<Method, MethodStats> stats = new ConcurrentHashMap<>();
+    private final long slowThresholdNanos;
+    private final double sampleRate;
+    private final MeterRegistry meterRegistry;
+
+    public LoggingAspect(@Value("${profiler.slow-threshold-ms:500}") long slowThresholdMs,
+                         @Value("${profiler.sample-rate:0.01}") double sampleRate,
+                         MeterRegistry meterRegistry) {
+        this.slowThresholdNanos = slowThresholdMs * 1_000_000;
+        this.sampleRate = sampleRate;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Around("execution(* com.example.labspring1.service.*.*(..))")
+    public Object profile(ProceedingJoinPoint joinPoint) throws Throwable {
+        long start = System.nanoTime();
+        Throwable failure = null;
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable ex) {
+            failure = ex;
+            throw ex;
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+            MethodStats methodStats = stats.computeIfAbsent(method, this::createStats);
+            methodStats.record(elapsed, failure != null);
+            report(joinPoint, methodStats.getName(), elapsed, failure);
+        }
+    }
+
+    public Collection<MethodStats> getStats() {
+        return Collections.unmodifiableCollection(stats.values());
+    }
+
+    private MethodStats createStats(Method method) {
+        MethodStats methodStats = new MethodStats(method.getDeclaringClass().getSimpleName() + "." + method.getName());
+        FunctionCounter.builder("app.service.calls", methodStats, MethodStats::getCalls)
+                .tag("method", methodStats.getName())
+                .register(meterRegistry);
+        FunctionCounter.builder("app.service.errors", methodStats, MethodStats::getErrors)
+                .tag("method", methodStats.getName())
+                .register(meterRegistry);
+        for (double quantile : new double[] {0.5, 0.99}) {
+            Gauge.builder("app.service.latency.ms", methodStats, s -> s.getPercentileMillis(quantile))
+                    .tag("method", methodStats.getName())
+                    .tag("quantile", String.valueOf(quantile))
+                    .register(meterRegistry);
+        }
+        return methodStats;
+    }
+
+    private void report(ProceedingJoinPoint joinPoint, String name, long elapsed, Throwable failure) {
+        boolean slow = elapsed >= slowThresholdNanos;
+        if (failure != null && isExpected(failure)) {
+            if (logger.isDebugEnabled()) {
+                logger.debug("method={} durationMs={} outcome=rejected exception={} message=\"{}\"",
+                        name, elapsed / 1_000_000, failure.getClass().getSimpleName(), failure.getMessage());
+            }
+        } else if (failure != null) {
+            logger.warn("method={} durationMs={} outcome=error exception={} message=\"{}\"",
+                    name, elapsed / 1_000_000, failure.getClass().getSimpleName(), failure.getMessage());
+        } else if (slow && logger.isWarnEnabled()) {
+            logger.warn("method={} durationMs={} outcome=slow args={}",
+                    name, elapsed / 1_000_000, describeArgs(joinPoint.getArgs()));
+        } else if (logger.isInfoEnabled() && ThreadLocalRandom.current().nextDouble() < sampleRate) {
+            logger.info("method={} durationMs={} outcome=sampled args={}",
+                    name, elapsed / 1_000_000, describeArgs(joinPoint.getArgs()));
+        }
+    }
+
+    /**
+     * Business outcomes the client caused (unknown id, bad input, stale version): logging each at WARN
+     * would let scanner traffic flood the log.
+     */
+    private static boolean isExpected(Throwable failure) {
+        return failure instanceof NotFoundException || failure instanceof InvalidRequestException
+                || failure instanceof VersionConflictException;
     }
 
-    @AfterThrowing(pointcut = "execution(* com.example.labspring1.service.*.*(..))", throwing = "ex")
-    public void logException(JoinPoint joinPoint, Throwable ex) {
-        String methodName = joinPoint.getSignature().getName();
-        String className = joinPoint.getTarget().getClass().getSimpleName();
-        logger.error("Exception in {}.{}: {}", className, methodName, ex.getMessage(), ex);
+    private String describeArgs(Object[] args) {
+        StringBuilder sb = new StringBuilder("[");
+        for (int i = 0; i < args.length; i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            Object arg = args[i];
+            if (arg instanceof Collection<?> collection) {
+                sb.append(arg.getClass().getSimpleName()).append("(size=").append(collection.size()).append(')');
+            } else {
+                String value = String.valueOf(arg);
+                sb.append(value.length() > MAX_ARG_LENGTH ? value.substring(0, MAX_ARG_LENGTH) + "..." : value);
+            }
+        }
+        return sb.append(']').toString();
     }
-}
\ No newline at end of file
+}
@@ -1,85 +1,592 @@
 package com.example.labspring1.cache;
 
+import com.example.labspring1.calendar.Timetable;
 import com.example.labspring1.dto.GroupDto;
 import com.example.labspring1.dto.ScheduleDto;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
-import java.util.HashMap;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 @Component
-public class CacheManager {
-    private final Map<String, List<GroupDto>> groupListCache = new HashMap<>();
-    private final Map<Long, GroupDto> groupCache = new HashMap<>();
-    private final Map<String, List<ScheduleDto>> scheduleListCache = new HashMap<>();
-    private final Map<Long, ScheduleDto> scheduleCache = new HashMap<>();
+public class CacheManager implements MeterBinder {
+    private static final int MAX_MISSING_ENTRIES = 10_000;
 
+    private final Map<String, List<CachedGroup>> groupListCache = new ConcurrentHashMap<>();
+    private final Map<Long, CachedGroup> groupCache = new ConcurrentHashMap<>();
+    private final Map<String, List<CachedGroup>> groupShapeCache = new ConcurrentHashMap<>();
+    private final Map<String, List<CachedSchedule>> scheduleListCache = new ConcurrentHashMap<>();
+    private final Map<Long, CachedSchedule> scheduleCache = new ConcurrentHashMap<>();
+    private final Map<String, Timetable> timetableCache = new ConcurrentHashMap<>();
+    private final Map<String, Long> missingCache = new ConcurrentHashMap<>();
+    private final Map<String, Long> scheduleListAccess = new ConcurrentHashMap<>();
+    private final AtomicLong scheduleListGeneration = new AtomicLong();
+    private final ReentrantLock demotionLock = new ReentrantLock();
+    private final int scheduleListMaxEntries;
+    private final OffHeapStore offHeap;
+    private final ExistenceFilter existence = new ExistenceFilter();
+    private final ValueDictionary dictionary;
+    private final long missingTtlMillis;
+    private volatile BooleanSupplier filterRejectsFinal = () -> false;
+
+    private final RegionStats groupListStats = new RegionStats();
+    private final RegionStats groupStats = new RegionStats();
+    private final RegionStats groupShapeStats = new RegionStats();
+    private final RegionStats scheduleListStats = new RegionStats();
+    private final RegionStats scheduleStats = new RegionStats();
+    private final RegionStats timetableStats = new RegionStats();
+    private final RegionStats missingStats = new RegionStats();
+
+    public CacheManager() {
+        this(30_000, 100_000, 0, 0, 2, 1_000);
+    }
+
+    /**
+     * @param scheduleListMaxEntries bound of the on-heap schedule list region, {@code 0} for unbounded;
+     *                               least recently used lists beyond it are demoted to the off-heap tier
+     * @param offHeapMaxBytes        size of the off-heap tier, {@code 0} to drop demoted lists instead
+     * @param promoteAfterHits       off-heap reads within {@code promoteWindowMillis} after which a list
+     *                               moves back on-heap
+     */
+    @Autowired
+    public CacheManager(@Value("${cache.negative.ttl-ms:30000}") long missingTtlMillis,
+                        @Value("${cache.dictionary.max-entries:100000}") int dictionaryMaxEntries,
+                        @Value("${cache.schedule-list.max-entries:0}") int scheduleListMaxEntries,
+                        @Value("${cache.off-heap.max-bytes:0}") long offHeapMaxBytes,
+                        @Value("${cache.off-heap.promote-after-hits:2}") int promoteAfterHits,
+                        @Value("${cache.off-heap.promote-window-ms:1000}") long promoteWindowMillis) {
+        this.missingTtlMillis = missingTtlMillis;
+        this.dictionary = new ValueDictionary(dictionaryMaxEntries);
+        this.scheduleListMaxEntries = scheduleListMaxEntries;
+        this.offHeap = offHeapMaxBytes > 0 ? new OffHeapStore(offHeapMaxBytes, promoteAfterHits,
+                TimeUnit.MILLISECONDS.toNanos(promoteWindowMillis)) : null;
+    }
 
     public void putGroupList(String key, List<GroupDto> value) {
-        groupListCache.put(key, value);
+        groupListCache.put(key, cacheGroups(value));
     }
 
     public List<GroupDto> getGroupList(String key) {
-        return groupListCache.get(key);
+        return CachedGroup.toDtos(groupListCache.get(key));
     }
 
     public boolean containsGroupListKey(String key) {
-        return groupListCache.containsKey(key);
+        return groupListStats.record(groupListCache.containsKey(key));
     }
 
 
     public void putGroup(Long key, GroupDto value) {
-        groupCache.put(key, value);
+        groupCache.put(key, cache(value));
     }
 
     public GroupDto getGroup(Long key) {
-        return groupCache.get(key);
+        CachedGroup group = groupCache.get(key);
+        return group == null ? null : group.toDto();
     }
 
     public boolean containsGroupKey(Long key) {
-        return groupCache.containsKey(key);
+        return groupStats.record(groupCache.containsKey(key));
     }
 
     public void removeGroup(Long key) {
         groupCache.remove(key);
     }
 
+    public void replaceGroup(GroupDto value) {
+        CachedGroup cached = cache(value);
+        groupCache.put(cached.id(), cached);
+        replaceInLists(groupListCache, cached, CachedGroup::id);
+    }
+
+    public void removeGroupList(String key) {
+        groupListCache.remove(key);
+    }
+
+    public void evictGroupListsContaining(Long id) {
+        groupListCache.values().removeIf(list -> indexOf(list, id, CachedGroup::id) >= 0);
+    }
+
+    public void putGroupShape(String key, List<GroupDto> value) {
+        groupShapeCache.put(key, cacheGroups(value));
+    }
+
+    public List<GroupDto> getGroupShape(String key) {
+        return CachedGroup.toDtos(groupShapeCache.get(key));
+    }
+
+    public boolean containsGroupShapeKey(String key) {
+        return groupShapeStats.record(groupShapeCache.containsKey(key));
+    }
+
+    public void clearGroupShapes() {
+        groupShapeCache.clear();
+    }
+
+    /**
+     * Stores the list in the tier that already holds the key: reloading a cold list keeps it off-heap
+     * instead of pushing a hot one out of the on-heap region.
+     */
     public void putScheduleList(String key, List<ScheduleDto> value) {
-        scheduleListCache.put(key, value);
+        if (offHeap != null) {
+            scheduleListGeneration.incrementAndGet();
+            if (!scheduleListCache.containsKey(key) && offHeap.containsKey(key)) {
+                offHeap.put(key, encode(value), ids(value));
+                return;
+            }
+        }
+        storeScheduleList(key, value);
     }
 
+    /**
+     * Returns the list from either tier, or {@code null} on a miss. Callers use this single lookup rather than
+     * {@link #containsScheduleListKey} first: a list can be demoted, promoted or evicted between the two calls.
+     */
     public List<ScheduleDto> getScheduleList(String key) {
-        return scheduleListCache.get(key);
+        List<CachedSchedule> cached = scheduleListCache.get(key);
+        List<ScheduleDto> value;
+        if (cached != null) {
+            touch(key);
+            value = CachedSchedule.toDtos(cached);
+        } else {
+            value = promote(key);
+        }
+        scheduleListStats.record(value != null);
+        return value;
     }
 
     public boolean containsScheduleListKey(String key) {
-        return scheduleListCache.containsKey(key);
+        return scheduleListCache.containsKey(key) || offHeap != null && offHeap.containsKey(key);
     }
 
     public void putSchedule(Long key, ScheduleDto value) {
-        scheduleCache.put(key, value);
+        scheduleCache.put(key, cache(value));
     }
 
     public ScheduleDto getSchedule(Long key) {
-        return scheduleCache.get(key);
+        CachedSchedule schedule = scheduleCache.get(key);
+        return schedule == null ? null : schedule.toDto();
     }
 
     public boolean containsScheduleKey(Long key) {
-        return scheduleCache.containsKey(key);
+        return scheduleStats.record(scheduleCache.containsKey(key));
     }
 
     public void removeSchedule(Long key) {
         scheduleCache.remove(key);
     }
 
+    public void replaceSchedule(ScheduleDto value) {
+        CachedSchedule cached = cache(value);
+        scheduleCache.put(cached.id(), cached);
+        replaceInLists(scheduleListCache, cached, CachedSchedule::id);
+        if (offHeap != null) {
+            scheduleListGeneration.incrementAndGet();
+            offHeap.removeContaining(cached.id());
+        }
+    }
+
+    public void removeScheduleList(String key) {
+        scheduleListGeneration.incrementAndGet();
+        scheduleListCache.remove(key);
+        scheduleListAccess.remove(key);
+        if (offHeap != null) {
+            offHeap.remove(key);
+        }
+    }
+
+    public void evictScheduleListsContaining(Long id) {
+        scheduleListGeneration.incrementAndGet();
+        scheduleListCache.values().removeIf(list -> indexOf(list, id, CachedSchedule::id) >= 0);
+        scheduleListAccess.keySet().retainAll(scheduleListCache.keySet());
+        if (offHeap != null) {
+            offHeap.removeContaining(id);
+        }
+    }
+
+    public void putTimetable(String groupNumber, Timetable value) {
+        timetableCache.put(groupNumber, value);
+    }
+
+    public Timetable getTimetable(String groupNumber) {
+        Timetable timetable = timetableCache.get(groupNumber);
+        timetableStats.record(timetable != null);
+        return timetable;
+    }
+
+    public boolean isGroupMissing(Long id) {
+        return isMissing(!existence.mightContainGroup(id), "group:" + id);
+    }
+
+    public boolean isGroupNumberMissing(String groupNumber) {
+        return isMissing(!existence.mightContainGroupNumber(groupNumber), "groupNumber:" + groupNumber);
+    }
+
+    public boolean isScheduleMissing(Long id) {
+        return isMissing(!existence.mightContainSchedule(id), "schedule:" + id);
+    }
+
+    public void putMissingGroup(Long id) {
+        putMissing("group:" + id);
+    }
+
+    public void putMissingGroupNumber(String groupNumber) {
+        putMissing("groupNumber:" + groupNumber);
+    }
+
+    public void putMissingSchedule(Long id) {
+        putMissing("schedule:" + id);
+    }
+
+    /**
+     * Applied after commit: cleared before it, a concurrent reader could still miss the uncommitted row and
+     * put it back into the missing region.
+     */
+    public void markGroupExists(Long id, String groupNumber) {
+        afterCommit(() -> {
+            existence.addGroup(id, groupNumber);
+            missingCache.remove("group:" + id);
+            if (groupNumber != null) {
+                missingCache.remove("groupNumber:" + groupNumber);
+            }
+        });
+    }
+
+    public void markSchedulesExist(Collection<Long> ids) {
+        afterCommit(() -> {
+            existence.addScheduleIds(ids);
+            ids.forEach(id -> missingCache.remove("schedule:" + id));
+        });
+    }
+
+    /**
+     * Admits groups written on another node. Their numbers are unknown here, so number lookups
+     * stop being rejected until the filter is rebuilt.
+     */
+    public void peerGroupsChanged(Collection<Long> ids) {
+        existence.addGroupIds(ids);
+        existence.distrustGroupNumbers();
+        missingCache.clear();
+    }
+
+    public void peerSchedulesChanged(Collection<Long> ids) {
+        existence.addScheduleIds(ids);
+        missingCache.clear();
+    }
+
+    /**
+     * The filter only hears about other nodes' writes through invalidation events, so its rejections are
+     * final only while {@code condition} holds. Otherwise a rejected lookup goes to the database, and the
+     * negative cache remembers the confirmed miss.
+     */
+    public void trustFilterRejectionsWhile(BooleanSupplier condition) {
+        this.filterRejectsFinal = condition;
+    }
+
+    public ExistenceFilter existence() {
+        return existence;
+    }
+
+    public void clearGroupLists() {
+        groupListCache.clear();
+        groupShapeCache.clear();
+    }
+
+    public void clearScheduleLists() {
+        clearScheduleListTiers();
+    }
+
     public void clearGroupCache() {
         groupListCache.clear();
         groupCache.clear();
+        groupShapeCache.clear();
     }
 
     public void clearScheduleCache() {
-        scheduleListCache.clear();
+        clearScheduleListTiers();
         scheduleCache.clear();
     }
-}
\ No newline at end of file
+
+    Map<String, List<CachedGroup>> groupLists() {
+        return groupListCache;
+    }
+
+    Map<Long, CachedGroup> groups() {
+        return groupCache;
+    }
+
+    Map<String, List<CachedSchedule>> scheduleLists() {
+        return scheduleListCache;
+    }
+
+    Map<Long, CachedSchedule> schedules() {
+        return scheduleCache;
+    }
+
+    Map<String, Timetable> timetables() {
+        return timetableCache;
+    }
+
+    ValueDictionary dictionary() {
+        return dictionary;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        bindRegion(registry, "groupList", groupListCache, groupListStats);
+        bindRegion(registry, "group", groupCache, groupStats);
+        bindRegion(registry, "groupShape", groupShapeCache, groupShapeStats);
+        bindRegion(registry, "scheduleList", scheduleListCache, scheduleListStats);
+        bindRegion(registry, "schedule", scheduleCache, scheduleStats);
+        bindRegion(registry, "timetable", timetableCache, timetableStats);
+        bindRegion(registry, "missing", missingCache, missingStats);
+        bindRegion(registry, "dictionary", dictionary.values()::size, dictionary.hits, dictionary.misses);
+        if (offHeap != null) {
+            bindRegion(registry, "scheduleListOffHeap", offHeap::size, offHeap.hits, offHeap.misses);
+            Gauge.builder("app.cache.offheap.bytes", offHeap, OffHeapStore::usedBytes)
+                    .tag("state", "used")
+                    .baseUnit("bytes")
+                    .register(registry);
+            Gauge.builder("app.cache.offheap.bytes", offHeap, OffHeapStore::capacityBytes)
+                    .tag("state", "capacity")
+                    .baseUnit("bytes")
+                    .register(registry);
+        }
+    }
+
+    private List<CachedSchedule> storeScheduleList(String key, List<ScheduleDto> value) {
+        List<CachedSchedule> cached = cacheSchedules(value);
+        scheduleListCache.put(key, cached);
+        if (scheduleListMaxEntries > 0) {
+            touch(key);
+            if (scheduleListCache.size() > scheduleListMaxEntries) {
+                demoteLeastRecentlyUsed();
+            }
+        }
+        return cached;
+    }
+
+    private void touch(String key) {
+        if (scheduleListMaxEntries > 0) {
+            scheduleListAccess.put(key, System.nanoTime());
+        }
+    }
+
+    /**
+     * Moves the least recently used tenth of the on-heap schedule lists to the off-heap tier, or drops
+     * them when there is none. One thread demotes at a time; the others keep serving.
+     */
+    private void demoteLeastRecentlyUsed() {
+        if (!demotionLock.tryLock()) {
+            return;
+        }
+        try {
+            int excess = scheduleListCache.size() - scheduleListMaxEntries + scheduleListMaxEntries / 10;
+            if (excess <= 0) {
+                return;
+            }
+            List<Map.Entry<String, Long>> oldest = new ArrayList<>(scheduleListAccess.entrySet());
+            oldest.sort(Map.Entry.comparingByValue());
+            for (Map.Entry<String, Long> entry : oldest.subList(0, Math.min(excess, oldest.size()))) {
+                String key = entry.getKey();
+                scheduleListAccess.remove(key, entry.getValue());
+                List<CachedSchedule> value = scheduleListCache.remove(key);
+                if (value != null && offHeap != null) {
+                    List<ScheduleDto> schedules = CachedSchedule.toDtos(value);
+                    offHeap.put(key, encode(schedules), ids(schedules));
+                }
+            }
+        } finally {
+            demotionLock.unlock();
+        }
+    }
+
+    /**
+     * Reads a list from the off-heap tier and moves it back on-heap once it is hot. If it was invalidated
+     * while being decoded the promoted copy is dropped again, so a concurrent write never leaves a stale
+     * list behind.
+     */
+    private List<ScheduleDto> promote(String key) {
+        if (offHeap == null) {
+            return null;
+        }
+        long generation = scheduleListGeneration.get();
+        OffHeapStore.Hit hit = offHeap.get(key);
+        if (hit == null) {
+            return null;
+        }
+        List<ScheduleDto> value = decode(hit.value);
+        if (hit.hot) {
+            List<CachedSchedule> promoted = storeScheduleList(key, value);
+            if (scheduleListGeneration.get() != generation) {
+                scheduleListCache.remove(key, promoted);
+            }
+        }
+        return value;
+    }
+
+    private void clearScheduleListTiers() {
+        scheduleListGeneration.incrementAndGet();
+        scheduleListCache.clear();
+        scheduleListAccess.clear();
+        if (offHeap != null) {
+            offHeap.clear();
+        }
+    }
+
+    private static byte[] encode(List<ScheduleDto> schedules) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(schedules.size() * 96);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            CacheSnapshot.writeSchedules(out, schedules);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static List<ScheduleDto> decode(byte[] bytes) {
+        try {
+            return CacheSnapshot.readSchedules(new DataInputStream(new ByteArrayInputStream(bytes)));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static long[] ids(List<ScheduleDto> schedules) {
+        return schedules.stream().map(ScheduleDto::getId).filter(Objects::nonNull).mapToLong(Long::longValue)
+                .toArray();
+    }
+
+    /**
+     * Copies the DTO into its cached form, sharing one instance of each repeated value; the caller keeps its
+     * DTO. A group or schedule equal to the one already cached under its id reuses that instance, so the same
+     * value can sit in several regions (warm-up puts every group in three) without being held twice.
+     */
+    private CachedGroup cache(GroupDto group) {
+        CachedGroup cached = CachedGroup.of(group, dictionary,
+                group.getSchedules() == null ? null : cacheSchedules(group.getSchedules()));
+        CachedGroup existing = cached.id() == null ? null : groupCache.get(cached.id());
+        return cached.equals(existing) ? existing : cached;
+    }
+
+    private CachedSchedule cache(ScheduleDto schedule) {
+        CachedSchedule cached = CachedSchedule.of(schedule, dictionary);
+        CachedSchedule existing = cached.id() == null ? null : scheduleCache.get(cached.id());
+        return cached.equals(existing) ? existing : cached;
+    }
+
+    private List<CachedGroup> cacheGroups(List<GroupDto> groups) {
+        return groups.stream().map(this::cache).toList();
+    }
+
+    private List<CachedSchedule> cacheSchedules(List<ScheduleDto> schedules) {
+        return schedules.stream().map(this::cache).toList();
+    }
+
+    private boolean isMissing(boolean filtered, String key) {
+        if (filtered && filterRejectsFinal.getAsBoolean()) {
+            return missingStats.record(true);
+        }
+        Long expiresAt = missingCache.get(key);
+        if (expiresAt != null && expiresAt < System.currentTimeMillis()) {
+            missingCache.remove(key, expiresAt);
+            expiresAt = null;
+        }
+        return missingStats.record(expiresAt != null);
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private void putMissing(String key) {
+        if (missingCache.size() >= MAX_MISSING_ENTRIES) {
+            missingCache.clear();
+        }
+        missingCache.put(key, System.currentTimeMillis() + missingTtlMillis);
+    }
+
+    private static <T> void replaceInLists(Map<String, List<T>> lists, T value, Function<T, Long> idOf) {
+        Long id = idOf.apply(value);
+        lists.replaceAll((key, list) -> {
+            int index = indexOf(list, id, idOf);
+            if (index < 0) {
+                return list;
+            }
+            List<T> copy = new ArrayList<>(list);
+            copy.set(index, value);
+            return List.copyOf(copy);
+        });
+    }
+
+    private static <T> int indexOf(List<T> list, Long id, Function<T, Long> idOf) {
+        for (int i = 0; i < list.size(); i++) {
+            if (id.equals(idOf.apply(list.get(i)))) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private void bindRegion(MeterRegistry registry, String region, Map<?, ?> cache, RegionStats stats) {
+        bindRegion(registry, region, cache::size, stats.hits, stats.misses);
+    }
+
+    private void bindRegion(MeterRegistry registry, String region, Supplier<Number> size, LongAdder hits,
+                            LongAdder misses) {
+        Gauge.builder("app.cache.size", size)
+                .tag("region", region)
+                .register(registry);
+        FunctionCounter.builder("app.cache.requests", hits, LongAdder::sum)
+                .tag("region", region)
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("app.cache.requests", misses, LongAdder::sum)
+                .tag("region", region)
+                .tag("result", "miss")
+                .register(registry);
+    }
+
+    private static final class RegionStats {
+        private final LongAdder hits = new LongAdder();
+        private final LongAdder misses = new LongAdder();
+
+        boolean record(boolean hit) {
+            (hit ? hits : misses).increment();
+            return hit;
+        }
+    }
+}
@@ -0,0 +1,363 @@
+package com.example.labspring1.cache;
+
+import com.example.labspring1.calendar.Timetable;
+import com.example.labspring1.calendar.TimetableCodec;
+import com.example.labspring1.dto.GroupDto;
+import com.example.labspring1.dto.ScheduleDto;
+import com.example.labspring1.model.ChangeLogEntry;
+import com.example.labspring1.service.ChangeLogService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.context.WebServerGracefulShutdownLifecycle;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Persists {@link CacheManager} regions to a local file on graceful shutdown and restores them on startup.
+ * Group and schedule entries are dropped when the snapshot is older than {@code cache.snapshot.max-age-seconds};
+ * timetables keep their own fetch time and are dropped once past the stale limit.
+ * <p>
+ * The snapshot records the change log token it was taken at. On restore, every change committed since (by
+ * this node or another, while this one was down) evicts what it may have made stale; when the changes cannot
+ * be listed, the group and schedule regions are dropped.
+ */
+@Component
+public class CacheSnapshot implements SmartLifecycle {
+    private static final Logger logger = LoggerFactory.getLogger(CacheSnapshot.class);
+    static final int MAGIC = 0x4C534331;
+    static final int FORMAT_VERSION = 3;
+    static final int RECONCILE_LIMIT = 10_000;
+    /**
+     * Restores before the web server starts and saves after it has stopped, i.e. after graceful shutdown has
+     * drained in-flight requests.
+     */
+    static final int PHASE = WebServerGracefulShutdownLifecycle.SMART_LIFECYCLE_PHASE - 2048;
+
+    private final CacheManager cacheManager;
+    private final ChangeLogService changeLogService;
+    private final boolean enabled;
+    private final Path path;
+    private final long maxAgeMillis;
+    private final long maxTimetableAgeMillis;
+    private volatile boolean running;
+
+    public CacheSnapshot(CacheManager cacheManager, ChangeLogService changeLogService,
+                         @Value("${cache.snapshot.enabled:true}") boolean enabled,
+                         @Value("${cache.snapshot.path:${java.io.tmpdir}/labspring1-cache.bin}") String path,
+                         @Value("${cache.snapshot.max-age-seconds:600}") long maxAgeSeconds,
+                         @Value("${bsuir.timetable.max-stale-minutes:10080}") long maxStaleMinutes) {
+        this.cacheManager = cacheManager;
+        this.changeLogService = changeLogService;
+        this.enabled = enabled;
+        this.path = Paths.get(path);
+        this.maxAgeMillis = TimeUnit.SECONDS.toMillis(maxAgeSeconds);
+        this.maxTimetableAgeMillis = TimeUnit.MINUTES.toMillis(maxStaleMinutes);
+    }
+
+    @Override
+    public void start() {
+        if (enabled) {
+            restore();
+        }
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        if (enabled) {
+            save();
+        }
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+
+    void save() {
+        long start = System.currentTimeMillis();
+        Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+        try {
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            long token = committedToken();
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+                write(out, start, token);
+            }
+            Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            logger.info("Cache snapshot written: path={} bytes={} durationMs={}",
+                    path, Files.size(path), System.currentTimeMillis() - start);
+        } catch (IOException e) {
+            logger.warn("Could not write cache snapshot to {}: {}", path, e.getMessage());
+        }
+    }
+
+    void restore() {
+        long start = System.currentTimeMillis();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            int restored = read(in, start);
+            logger.info("Cache snapshot restored: path={} entries={} durationMs={}",
+                    path, restored, System.currentTimeMillis() - start);
+        } catch (NoSuchFileException e) {
+            logger.debug("No cache snapshot at {}", path);
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Ignoring unreadable cache snapshot {}: {}", path, e.getMessage());
+        }
+    }
+
+    void write(DataOutputStream out, long now, long token) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeShort(FORMAT_VERSION);
+        out.writeLong(now);
+        out.writeLong(token);
+
+        Map<String, List<CachedGroup>> groupLists = new HashMap<>(cacheManager.groupLists());
+        out.writeInt(groupLists.size());
+        for (Map.Entry<String, List<CachedGroup>> entry : groupLists.entrySet()) {
+            out.writeUTF(entry.getKey());
+            writeGroups(out, CachedGroup.toDtos(entry.getValue()));
+        }
+        Map<Long, CachedGroup> groups = new HashMap<>(cacheManager.groups());
+        out.writeInt(groups.size());
+        for (Map.Entry<Long, CachedGroup> entry : groups.entrySet()) {
+            out.writeLong(entry.getKey());
+            writeGroup(out, entry.getValue().toDto());
+        }
+        Map<String, List<CachedSchedule>> scheduleLists = new HashMap<>(cacheManager.scheduleLists());
+        out.writeInt(scheduleLists.size());
+        for (Map.Entry<String, List<CachedSchedule>> entry : scheduleLists.entrySet()) {
+            out.writeUTF(entry.getKey());
+            writeSchedules(out, CachedSchedule.toDtos(entry.getValue()));
+        }
+        Map<Long, CachedSchedule> schedules = new HashMap<>(cacheManager.schedules());
+        out.writeInt(schedules.size());
+        for (Map.Entry<Long, CachedSchedule> entry : schedules.entrySet()) {
+            out.writeLong(entry.getKey());
+            writeSchedule(out, entry.getValue().toDto());
+        }
+        List<Timetable> timetables = new ArrayList<>(cacheManager.timetables().values());
+        out.writeInt(timetables.size());
+        for (Timetable timetable : timetables) {
+            TimetableCodec.write(out, timetable);
+        }
+    }
+
+    int read(DataInputStream in, long now) throws IOException {
+        if (in.readInt() != MAGIC) {
+            throw new IOException("not a cache snapshot");
+        }
+        int version = in.readUnsignedShort();
+        if (version != FORMAT_VERSION) {
+            throw new IOException("unsupported snapshot version " + version);
+        }
+        boolean fresh = now - in.readLong() <= maxAgeMillis;
+        long token = in.readLong();
+        int restored = 0;
+
+        int count = in.readInt();
+        for (int i = 0; i < count; i++) {
+            String key = in.readUTF();
+            List<GroupDto> value = readGroups(in);
+            if (fresh) {
+                cacheManager.putGroupList(key, value);
+                restored++;
+            }
+        }
+        count = in.readInt();
+        for (int i = 0; i < count; i++) {
+            long key = in.readLong();
+            GroupDto value = readGroup(in);
+            if (fresh) {
+                cacheManager.putGroup(key, value);
+                restored++;
+            }
+        }
+        count = in.readInt();
+        for (int i = 0; i < count; i++) {
+            String key = in.readUTF();
+            List<ScheduleDto> value = readSchedules(in);
+            if (fresh) {
+                cacheManager.putScheduleList(key, value);
+                restored++;
+            }
+        }
+        count = in.readInt();
+        for (int i = 0; i < count; i++) {
+            long key = in.readLong();
+            ScheduleDto value = readSchedule(in);
+            if (fresh) {
+                cacheManager.putSchedule(key, value);
+                restored++;
+            }
+        }
+        count = in.readInt();
+        for (int i = 0; i < count; i++) {
+            Timetable timetable = TimetableCodec.read(in);
+            if (now - timetable.getFetchedAt() <= maxTimetableAgeMillis) {
+                cacheManager.putTimetable(timetable.getGroupNumber(), timetable);
+                restored++;
+            }
+        }
+        if (fresh) {
+            reconcile(token);
+        }
+        return restored;
+    }
+
+    /**
+     * A group change can touch any region (schedules carry the group number), so it drops them all; schedule
+     * changes drop the lists and groups that embed schedules, and the changed schedules themselves.
+     */
+    void reconcile(long token) {
+        List<ChangeLogEntry> changes = null;
+        if (token >= 0) {
+            try {
+                changes = changeLogService.entriesAfter(token, RECONCILE_LIMIT);
+            } catch (RuntimeException e) {
+                logger.warn("Could not read the change log to reconcile the cache snapshot: {}", e.getMessage());
+            }
+        }
+        if (changes == null
+                || changes.stream().anyMatch(change -> change.getEntityType() == ChangeLogEntry.EntityType.GROUP)) {
+            cacheManager.clearGroupCache();
+            cacheManager.clearScheduleCache();
+        } else if (!changes.isEmpty()) {
+            cacheManager.clearGroupCache();
+            cacheManager.clearScheduleLists();
+            changes.forEach(change -> cacheManager.removeSchedule(change.getEntityId()));
+        }
+        logger.info("Cache snapshot reconciled: token={} changes={}", token,
+                changes == null ? "unknown" : changes.size());
+    }
+
+    private long committedToken() {
+        try {
+            return changeLogService.committedToken();
+        } catch (RuntimeException e) {
+            logger.warn("Could not read the change log token for the cache snapshot: {}", e.getMessage());
+            return -1;
+        }
+    }
+
+    private static void writeGroups(DataOutputStream out, List<GroupDto> groups) throws IOException {
+        out.writeInt(groups == null ? -1 : groups.size());
+        if (groups != null) {
+            for (GroupDto group : groups) {
+                writeGroup(out, group);
+            }
+        }
+    }
+
+    private static List<GroupDto> readGroups(DataInputStream in) throws IOException {
+        int size = in.readInt();
+        if (size < 0) {
+            return null;
+        }
+        List<GroupDto> groups = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            groups.add(readGroup(in));
+        }
+        return groups;
+    }
+
+    private static void writeGroup(DataOutputStream out, GroupDto group) throws IOException {
+        writeLong(out, group.getId());
+        writeString(out, group.getGroupNumber());
+        writeSchedules(out, group.getSchedules());
+        writeLong(out, group.getVersion());
+    }
+
+    private static GroupDto readGroup(DataInputStream in) throws IOException {
+        GroupDto group = new GroupDto(readLong(in), readString(in), readSchedules(in));
+        group.setVersion(readLong(in));
+        return group;
+    }
+
+    static void writeSchedules(DataOutputStream out, List<ScheduleDto> schedules) throws IOException {
+        out.writeInt(schedules == null ? -1 : schedules.size());
+        if (schedules != null) {
+            for (ScheduleDto schedule : schedules) {
+                writeSchedule(out, schedule);
+            }
+        }
+    }
+
+    static List<ScheduleDto> readSchedules(DataInputStream in) throws IOException {
+        int size = in.readInt();
+        if (size < 0) {
+            return null;
+        }
+        List<ScheduleDto> schedules = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            schedules.add(readSchedule(in));
+        }
+        return schedules;
+    }
+
+    private static void writeSchedule(DataOutputStream out, ScheduleDto schedule) throws IOException {
+        writeLong(out, schedule.getId());
+        writeString(out, schedule.getSubject());
+        writeString(out, schedule.getLessonType());
+        writeString(out, schedule.getTime());
+        writeString(out, schedule.getAuditorium());
+        writeLong(out, schedule.getGroupId());
+        writeString(out, schedule.getGroupNumber());
+        writeString(out, schedule.getDate());
+        writeLong(out, schedule.getVersion());
+    }
+
+    private static ScheduleDto readSchedule(DataInputStream in) throws IOException {
+        ScheduleDto schedule = new ScheduleDto(readLong(in), readString(in), readString(in), readString(in),
+                readString(in), readLong(in));
+        schedule.setGroupNumber(readString(in));
+        schedule.setDate(readString(in));
+        schedule.setVersion(readLong(in));
+        return schedule;
+    }
+
+    private static void writeLong(DataOutputStream out, Long value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeLong(value);
+        }
+    }
+
+    private static Long readLong(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readLong() : null;
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+}
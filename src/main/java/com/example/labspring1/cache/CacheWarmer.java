@@ -0,0 +1,116 @@
+package com.example.labspring1.cache;
+
+import com.example.labspring1.config.UpstreamExecutor;
+import com.example.labspring1.service.GroupService;
+import com.example.labspring1.service.TimetableService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Primes group entries and BSUIR timetables at startup and on a schedule. Until the first run
+ * finishes or times out it reports OUT_OF_SERVICE, which keeps the readiness probe down.
+ */
+@Component
+public class CacheWarmer implements HealthIndicator {
+    private static final Logger logger = LoggerFactory.getLogger(CacheWarmer.class);
+
+    private final GroupService groupService;
+    private final TimetableService timetableService;
+    private final UpstreamExecutor upstreamExecutor;
+    private final boolean enabled;
+    private final int parallelism;
+    private final long timeoutMillis;
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile boolean ready;
+
+    public CacheWarmer(GroupService groupService, TimetableService timetableService, UpstreamExecutor upstreamExecutor,
+                       @Value("${cache.warmup.enabled:true}") boolean enabled,
+                       @Value("${cache.warmup.parallelism:8}") int parallelism,
+                       @Value("${cache.warmup.timeout-seconds:120}") long timeoutSeconds) {
+        this.groupService = groupService;
+        this.timetableService = timetableService;
+        this.upstreamExecutor = upstreamExecutor;
+        this.enabled = enabled;
+        this.parallelism = parallelism;
+        this.timeoutMillis = TimeUnit.SECONDS.toMillis(timeoutSeconds);
+        this.ready = !enabled;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUpOnStartup() {
+        scheduleWarmUp();
+    }
+
+    @Scheduled(cron = "${cache.warmup.cron:0 0 */6 * * *}")
+    public void scheduleWarmUp() {
+        if (enabled && running.compareAndSet(false, true)) {
+            upstreamExecutor.execute(() -> {
+                try {
+                    warmUp();
+                } finally {
+                    running.set(false);
+                    ready = true;
+                }
+            });
+        }
+    }
+
+    @Override
+    public Health health() {
+        return ready ? Health.up().build() : Health.outOfService().withDetail("warmup", "in progress").build();
+    }
+
+    void warmUp() {
+        long start = System.currentTimeMillis();
+        long deadline = start + timeoutMillis;
+        List<String> groupNumbers;
+        try {
+            groupNumbers = groupService.warmCache();
+        } catch (RuntimeException e) {
+            logger.warn("Cache warm-up could not load groups: {}", e.getMessage());
+            return;
+        }
+
+        Semaphore permits = new Semaphore(parallelism);
+        AtomicInteger warmed = new AtomicInteger();
+        try {
+            for (String groupNumber : groupNumbers) {
+                if (!permits.tryAcquire(remaining(deadline), TimeUnit.MILLISECONDS)) {
+                    break;
+                }
+                upstreamExecutor.execute(() -> {
+                    try {
+                        timetableService.refresh(groupNumber);
+                        warmed.incrementAndGet();
+                    } catch (RuntimeException e) {
+                        logger.debug("Warm-up of timetable for group {} failed: {}", groupNumber, e.getMessage());
+                    } finally {
+                        permits.release();
+                    }
+                });
+            }
+            permits.tryAcquire(parallelism, remaining(deadline), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        logger.info("Cache warm-up finished: groups={} timetables={} durationMs={}",
+                groupNumbers.size(), warmed.get(), System.currentTimeMillis() - start);
+    }
+
+    private static long remaining(long deadline) {
+        return Math.max(0, deadline - System.currentTimeMillis());
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.labspring1.cache;
+
+import com.example.labspring1.dto.GroupDto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * What the cache keeps of a {@link GroupDto}, see {@link CachedSchedule}.
+ */
+record CachedGroup(Long id, String groupNumber, List<CachedSchedule> schedules, Long version) {
+
+    static CachedGroup of(GroupDto group, ValueDictionary dictionary, List<CachedSchedule> schedules) {
+        return new CachedGroup(group.getId(), dictionary.canonical(group.getGroupNumber()), schedules,
+                group.getVersion());
+    }
+
+    GroupDto toDto() {
+        GroupDto group = new GroupDto(id, groupNumber, CachedSchedule.toDtos(schedules));
+        group.setVersion(version);
+        return group;
+    }
+
+    static List<GroupDto> toDtos(List<CachedGroup> groups) {
+        if (groups == null) {
+            return null;
+        }
+        List<GroupDto> result = new ArrayList<>(groups.size());
+        groups.forEach(group -> result.add(group.toDto()));
+        return result;
+    }
+}
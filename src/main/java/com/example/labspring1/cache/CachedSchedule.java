@@ -0,0 +1,43 @@
+package com.example.labspring1.cache;
+
+import com.example.labspring1.dto.ScheduleDto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * What the cache keeps of a {@link ScheduleDto}: its canonicalized values, immutable, so one instance can sit in
+ * several regions. Readers always get a fresh DTO and may modify it.
+ */
+record CachedSchedule(Long id, String subject, String lessonType, String time, String auditorium, Long groupId,
+                      String groupNumber, String date, Long version, Boolean stale) {
+
+    static CachedSchedule of(ScheduleDto schedule, ValueDictionary dictionary) {
+        return new CachedSchedule(schedule.getId(),
+                dictionary.canonical(schedule.getSubject()),
+                dictionary.canonical(schedule.getLessonType()),
+                dictionary.canonical(schedule.getTime()),
+                dictionary.canonical(schedule.getAuditorium()),
+                dictionary.canonical(schedule.getGroupId()),
+                dictionary.canonical(schedule.getGroupNumber()),
+                schedule.getDate(), schedule.getVersion(), schedule.getStale());
+    }
+
+    ScheduleDto toDto() {
+        ScheduleDto schedule = new ScheduleDto(id, subject, lessonType, time, auditorium, groupId);
+        schedule.setGroupNumber(groupNumber);
+        schedule.setDate(date);
+        schedule.setVersion(version);
+        schedule.setStale(stale);
+        return schedule;
+    }
+
+    static List<ScheduleDto> toDtos(List<CachedSchedule> schedules) {
+        if (schedules == null) {
+            return null;
+        }
+        List<ScheduleDto> result = new ArrayList<>(schedules.size());
+        schedules.forEach(schedule -> result.add(schedule.toDto()));
+        return result;
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.labspring1.cache;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Bloom filters of the group ids, group numbers and schedule ids that exist, so lookups for anything
+ * else can be rejected without a query while peers' writes are known to reach this node (see
+ * {@link CacheManager#trustFilterRejectionsWhile}). Until the first rebuild everything "might exist".
+ * Deleted rows stay in the filters (false positives fall through to the database and the negative
+ * cache) until the next rebuild drops them.
+ */
+public class ExistenceFilter {
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+    private static final int MIN_CAPACITY = 10_000;
+
+    private volatile Filters filters;
+    private volatile boolean groupNumbersTrusted;
+    private volatile boolean idsTrusted;
+    private List<Consumer<Filters>> rebuildLog;
+
+    public boolean mightContainGroup(Long id) {
+        Filters current = filters;
+        return current == null || !idsTrusted || current.groupIds.mightContain(BloomFilter.hash(id));
+    }
+
+    public boolean mightContainGroupNumber(String groupNumber) {
+        Filters current = filters;
+        return current == null || !groupNumbersTrusted
+                || current.groupNumbers.mightContain(BloomFilter.hash(groupNumber));
+    }
+
+    public boolean mightContainSchedule(Long id) {
+        Filters current = filters;
+        return current == null || !idsTrusted || current.scheduleIds.mightContain(BloomFilter.hash(id));
+    }
+
+    public void addGroup(Long id, String groupNumber) {
+        apply(f -> {
+            f.groupIds.put(BloomFilter.hash(id));
+            if (groupNumber != null) {
+                f.groupNumbers.put(BloomFilter.hash(groupNumber));
+            }
+        });
+    }
+
+    public void addGroupIds(Collection<Long> ids) {
+        apply(f -> ids.forEach(id -> f.groupIds.put(BloomFilter.hash(id))));
+    }
+
+    public void addScheduleIds(Collection<Long> ids) {
+        apply(f -> ids.forEach(id -> f.scheduleIds.put(BloomFilter.hash(id))));
+    }
+
+    /**
+     * Stops rejecting by group number until the next rebuild; used when a peer changed groups
+     * whose numbers this node has not seen.
+     */
+    public void distrustGroupNumbers() {
+        groupNumbersTrusted = false;
+    }
+
+    /**
+     * Stops rejecting anything until the next rebuild; used when peer writes may have been missed.
+     */
+    public void distrust() {
+        idsTrusted = false;
+        groupNumbersTrusted = false;
+    }
+
+    /**
+     * Starts recording additions, so writes that commit while the rebuild snapshot is read are not lost.
+     */
+    public synchronized void beginRebuild() {
+        rebuildLog = new ArrayList<>();
+    }
+
+    public synchronized void abortRebuild() {
+        rebuildLog = null;
+    }
+
+    public void finishRebuild(Map<Long, String> groups, Collection<Long> scheduleIds) {
+        Filters rebuilt = new Filters(capacity(groups.size()), capacity(scheduleIds.size()));
+        groups.forEach((id, groupNumber) -> {
+            rebuilt.groupIds.put(BloomFilter.hash(id));
+            rebuilt.groupNumbers.put(BloomFilter.hash(groupNumber));
+        });
+        scheduleIds.forEach(id -> rebuilt.scheduleIds.put(BloomFilter.hash(id)));
+        synchronized (this) {
+            if (rebuildLog != null) {
+                rebuildLog.forEach(update -> update.accept(rebuilt));
+            }
+            rebuildLog = null;
+            filters = rebuilt;
+            groupNumbersTrusted = true;
+            idsTrusted = true;
+        }
+    }
+
+    public boolean isBuilt() {
+        return filters != null;
+    }
+
+    private synchronized void apply(Consumer<Filters> update) {
+        if (filters != null) {
+            update.accept(filters);
+        }
+        if (rebuildLog != null) {
+            rebuildLog.add(update);
+        }
+    }
+
+    private static int capacity(int size) {
+        return Math.max(MIN_CAPACITY, size * 2);
+    }
+
+    private static final class Filters {
+        private final BloomFilter groupIds;
+        private final BloomFilter groupNumbers;
+        private final BloomFilter scheduleIds;
+
+        Filters(int groupCapacity, int scheduleCapacity) {
+            this.groupIds = new BloomFilter(groupCapacity, FALSE_POSITIVE_RATE);
+            this.groupNumbers = new BloomFilter(groupCapacity, FALSE_POSITIVE_RATE);
+            this.scheduleIds = new BloomFilter(scheduleCapacity, FALSE_POSITIVE_RATE);
+        }
+    }
+}
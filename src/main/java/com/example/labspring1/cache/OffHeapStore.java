@@ -0,0 +1,186 @@
+package com.example.labspring1.cache;
+
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Second tier for schedule lists demoted from the on-heap region. Serialized entries live in one direct
+ * buffer split into fixed-size pages, so the collector only sees a page table and the contained schedule
+ * ids per entry. An index from schedule id to keys lets a write drop the lists holding that schedule
+ * without scanning every entry. When the buffer is full the least recently used entries are dropped.
+ * <p>
+ * Reads are served from the buffer. Only an entry read {@code promoteAfterHits} times within
+ * {@code promoteWindowNanos} is handed back as hot: promoting every cold read would turn one-off lookups
+ * into medium-lived on-heap objects, the kind that costs the collector most.
+ */
+final class OffHeapStore {
+    static final int PAGE_SIZE = 1024;
+
+    private final ByteBuffer arena;
+    private final int[] freePages;
+    private final int promoteAfterHits;
+    private final long promoteWindowNanos;
+    private int freeCount;
+    private final Map<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<Long, Set<String>> keysById = new HashMap<>();
+    final LongAdder hits = new LongAdder();
+    final LongAdder misses = new LongAdder();
+
+    OffHeapStore(long maxBytes, int promoteAfterHits, long promoteWindowNanos) {
+        this.promoteAfterHits = promoteAfterHits;
+        this.promoteWindowNanos = promoteWindowNanos;
+        int pages = (int) Math.min(Integer.MAX_VALUE / PAGE_SIZE, maxBytes / PAGE_SIZE);
+        this.arena = ByteBuffer.allocateDirect(pages * PAGE_SIZE);
+        this.freePages = new int[pages];
+        for (int i = 0; i < pages; i++) {
+            freePages[i] = pages - 1 - i;
+        }
+        this.freeCount = pages;
+    }
+
+    /**
+     * Stores {@code value}, evicting older entries to make room. Values larger than the whole buffer are
+     * not stored.
+     */
+    synchronized boolean put(String key, byte[] value, long[] ids) {
+        discard(key, entries.remove(key));
+        int needed = (value.length + PAGE_SIZE - 1) / PAGE_SIZE;
+        if (needed > freePages.length) {
+            return false;
+        }
+        Iterator<Map.Entry<String, Entry>> eldest = entries.entrySet().iterator();
+        while (freeCount < needed) {
+            Map.Entry<String, Entry> evicted = eldest.next();
+            discard(evicted.getKey(), evicted.getValue());
+            eldest.remove();
+        }
+        int[] pages = new int[needed];
+        for (int i = 0; i < needed; i++) {
+            pages[i] = freePages[--freeCount];
+            int offset = i * PAGE_SIZE;
+            arena.put(pages[i] * PAGE_SIZE, value, offset, Math.min(PAGE_SIZE, value.length - offset));
+        }
+        entries.put(key, new Entry(pages, value.length, ids));
+        for (long id : ids) {
+            keysById.computeIfAbsent(id, k -> new HashSet<>()).add(key);
+        }
+        return true;
+    }
+
+    /**
+     * Copies the entry out of the buffer. A hot entry is removed so the caller can promote it.
+     */
+    synchronized Hit get(String key) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        byte[] value = new byte[entry.length];
+        for (int i = 0; i < entry.pages.length; i++) {
+            int offset = i * PAGE_SIZE;
+            arena.get(entry.pages[i] * PAGE_SIZE, value, offset, Math.min(PAGE_SIZE, value.length - offset));
+        }
+        long now = System.nanoTime();
+        if (now - entry.windowStart > promoteWindowNanos) {
+            entry.windowStart = now;
+            entry.hits = 0;
+        }
+        boolean hot = ++entry.hits >= promoteAfterHits;
+        if (hot) {
+            entries.remove(key);
+            discard(key, entry);
+        }
+        return new Hit(value, hot);
+    }
+
+    synchronized boolean containsKey(String key) {
+        return entries.containsKey(key);
+    }
+
+    synchronized void remove(String key) {
+        discard(key, entries.remove(key));
+    }
+
+    synchronized void removeContaining(long id) {
+        Set<String> keys = keysById.remove(id);
+        if (keys != null) {
+            for (String key : keys) {
+                discard(key, entries.remove(key));
+            }
+        }
+    }
+
+    synchronized void clear() {
+        entries.values().forEach(this::release);
+        entries.clear();
+        keysById.clear();
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+
+    synchronized long usedBytes() {
+        return (long) (freePages.length - freeCount) * PAGE_SIZE;
+    }
+
+    long capacityBytes() {
+        return (long) freePages.length * PAGE_SIZE;
+    }
+
+    /**
+     * Frees the pages of a removed entry and drops it from the id index.
+     */
+    private void discard(String key, Entry entry) {
+        if (entry == null) {
+            return;
+        }
+        release(entry);
+        for (long id : entry.ids) {
+            Set<String> keys = keysById.get(id);
+            if (keys != null && keys.remove(key) && keys.isEmpty()) {
+                keysById.remove(id);
+            }
+        }
+    }
+
+    private void release(Entry entry) {
+        if (entry != null) {
+            for (int page : entry.pages) {
+                freePages[freeCount++] = page;
+            }
+        }
+    }
+
+    static final class Hit {
+        final byte[] value;
+        final boolean hot;
+
+        Hit(byte[] value, boolean hot) {
+            this.value = value;
+            this.hot = hot;
+        }
+    }
+
+    private static final class Entry {
+        private final int[] pages;
+        private final int length;
+        private final long[] ids;
+        private int hits;
+        private long windowStart;
+
+        Entry(int[] pages, int length, long[] ids) {
+            this.pages = pages;
+            this.length = length;
+            this.ids = ids;
+        }
+    }
+}
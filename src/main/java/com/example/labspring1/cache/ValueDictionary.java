@@ -0,0 +1,43 @@
+package com.example.labspring1.cache;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Canonical instances of the low-cardinality values cached DTOs repeat: subjects, lesson types, times,
+ * auditoriums, group numbers and group ids. Every row Hibernate loads carries its own copies, so without
+ * this a full-university cache holds the same few hundred strings tens of thousands of times.
+ */
+final class ValueDictionary {
+    private final Map<Object, Object> values = new ConcurrentHashMap<>();
+    private final int maxEntries;
+    final LongAdder hits = new LongAdder();
+    final LongAdder misses = new LongAdder();
+
+    ValueDictionary(int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    @SuppressWarnings("unchecked")
+    <T> T canonical(T value) {
+        if (value == null) {
+            return null;
+        }
+        Object existing = values.get(value);
+        if (existing != null) {
+            hits.increment();
+            return (T) existing;
+        }
+        misses.increment();
+        if (values.size() >= maxEntries) {
+            values.clear();
+        }
+        existing = values.putIfAbsent(value, value);
+        return existing != null ? (T) existing : value;
+    }
+
+    Map<Object, Object> values() {
+        return values;
+    }
+}
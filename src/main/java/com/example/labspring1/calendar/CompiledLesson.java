@@ -0,0 +1,45 @@
+package com.example.labspring1.calendar;
+
+/**
+ * A lesson with its occurrence dates precomputed as a bitset over the days of the semester.
+ */
+public final class CompiledLesson {
+
+    private final String subject;
+    private final String lessonType;
+    private final String time;
+    private final String auditorium;
+    private final long[] days;
+
+    CompiledLesson(String subject, String lessonType, String time, String auditorium, long[] days) {
+        this.subject = subject;
+        this.lessonType = lessonType;
+        this.time = time;
+        this.auditorium = auditorium;
+        this.days = days;
+    }
+
+    public boolean occursOn(int dayIndex) {
+        return dayIndex >= 0 && (dayIndex >>> 6) < days.length && (days[dayIndex >>> 6] & (1L << dayIndex)) != 0;
+    }
+
+    public String getSubject() {
+        return subject;
+    }
+
+    public String getLessonType() {
+        return lessonType;
+    }
+
+    public String getTime() {
+        return time;
+    }
+
+    public String getAuditorium() {
+        return auditorium;
+    }
+
+    long[] getDays() {
+        return days;
+    }
+}
@@ -0,0 +1,173 @@
+package com.example.labspring1.calendar;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compiles a BSUIR timetable response into per-lesson day bitsets, so that checking
+ * whether a lesson happens on a date is a single bit test.
+ */
+@Component
+public class LessonCalendar {
+    private static final Logger logger = LoggerFactory.getLogger(LessonCalendar.class);
+
+    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("dd.MM.yyyy");
+    private static final int WEEK_CYCLE = 4;
+    private static final int MAX_SEMESTER_DAYS = 366;
+    private static final Map<String, DayOfWeek> DAYS = Map.of(
+            "Понедельник", DayOfWeek.MONDAY,
+            "Вторник", DayOfWeek.TUESDAY,
+            "Среда", DayOfWeek.WEDNESDAY,
+            "Четверг", DayOfWeek.THURSDAY,
+            "Пятница", DayOfWeek.FRIDAY,
+            "Суббота", DayOfWeek.SATURDAY,
+            "Воскресенье", DayOfWeek.SUNDAY
+    );
+
+    private final LocalDate configuredSemesterStart;
+
+    public LessonCalendar(@Value("${bsuir.semester.start:}") String semesterStart) {
+        this.configuredSemesterStart = semesterStart == null || semesterStart.isBlank()
+                ? null : LocalDate.parse(semesterStart, FORMATTER);
+    }
+
+    @SuppressWarnings("unchecked")
+    public Timetable compile(String groupNumber, Map<String, Object> response) {
+        Map<String, List<Map<String, Object>>> schedules =
+                (Map<String, List<Map<String, Object>>>) response.get("schedules");
+        if (schedules == null) {
+            schedules = Collections.emptyMap();
+        }
+
+        LocalDate start = configuredSemesterStart != null
+                ? configuredSemesterStart : detectSemesterStart(response, schedules);
+        LocalDate end = detectSemesterEnd(response, schedules, start);
+        int dayCount = (int) Math.min(MAX_SEMESTER_DAYS, end.toEpochDay() - start.toEpochDay() + 1);
+
+        List<CompiledLesson>[] byDayOfWeek = new List[7];
+        for (int i = 0; i < byDayOfWeek.length; i++) {
+            byDayOfWeek[i] = new ArrayList<>();
+        }
+        for (Map.Entry<String, List<Map<String, Object>>> entry : schedules.entrySet()) {
+            DayOfWeek dayOfWeek = DAYS.get(entry.getKey());
+            if (dayOfWeek == null || entry.getValue() == null) {
+                continue;
+            }
+            for (Map<String, Object> lesson : entry.getValue()) {
+                CompiledLesson compiled = compileLesson(groupNumber, lesson, dayOfWeek, start, dayCount);
+                if (compiled != null) {
+                    byDayOfWeek[dayOfWeek.getValue() - 1].add(compiled);
+                }
+            }
+        }
+        for (int i = 0; i < byDayOfWeek.length; i++) {
+            byDayOfWeek[i] = List.copyOf(byDayOfWeek[i]);
+        }
+        return new Timetable(groupNumber, start, dayCount, byDayOfWeek, System.currentTimeMillis());
+    }
+
+    @SuppressWarnings("unchecked")
+    private CompiledLesson compileLesson(String groupNumber, Map<String, Object> lesson, DayOfWeek dayOfWeek,
+                                         LocalDate semesterStart, int dayCount) {
+        long[] days = new long[(dayCount + 63) >>> 6];
+        try {
+            LocalDate dateLesson = parseDate(lesson.get("dateLesson"));
+            if (dateLesson != null) {
+                setDay(days, (int) (dateLesson.toEpochDay() - semesterStart.toEpochDay()), dayCount);
+            } else {
+                LocalDate from = parseDate(lesson.get("startLessonDate"));
+                LocalDate to = parseDate(lesson.get("endLessonDate"));
+                int first = from == null ? 0 : (int) Math.max(0, from.toEpochDay() - semesterStart.toEpochDay());
+                int last = to == null ? dayCount - 1
+                        : (int) Math.min(dayCount - 1, to.toEpochDay() - semesterStart.toEpochDay());
+                int mondayOffset = semesterStart.getDayOfWeek().getValue() - 1;
+                int firstMatching = first + Math.floorMod(dayOfWeek.getValue() - 1 - mondayOffset - first, 7);
+                List<Integer> weekNumbers = (List<Integer>) lesson.get("weekNumber");
+                for (int day = firstMatching; day <= last; day += 7) {
+                    if (weekNumbers == null || weekNumbers.isEmpty()
+                            || weekNumbers.contains(((day + mondayOffset) / 7) % WEEK_CYCLE + 1)) {
+                        setDay(days, day, dayCount);
+                    }
+                }
+            }
+        } catch (DateTimeParseException | ClassCastException e) {
+            logger.warn("Skipping lesson with malformed dates for group {}: {}", groupNumber, e.getMessage());
+            return null;
+        }
+        return new CompiledLesson(
+                (String) lesson.get("subjectFullName"),
+                (String) lesson.get("lessonTypeAbbrev"),
+                lesson.get("startLessonTime") + "-" + lesson.get("endLessonTime"),
+                auditorium(lesson),
+                days);
+    }
+
+    private LocalDate detectSemesterStart(Map<String, Object> response,
+                                          Map<String, List<Map<String, Object>>> schedules) {
+        LocalDate start = parseQuietly(response.get("startDate"));
+        if (start != null) {
+            return start;
+        }
+        LocalDate earliest = null;
+        for (List<Map<String, Object>> lessons : schedules.values()) {
+            for (Map<String, Object> lesson : lessons) {
+                LocalDate date = parseQuietly(lesson.get("startLessonDate"));
+                if (date != null && (earliest == null || date.isBefore(earliest))) {
+                    earliest = date;
+                }
+            }
+        }
+        return earliest != null ? earliest : LocalDate.now();
+    }
+
+    private LocalDate detectSemesterEnd(Map<String, Object> response,
+                                        Map<String, List<Map<String, Object>>> schedules, LocalDate start) {
+        LocalDate end = parseQuietly(response.get("endDate"));
+        if (end == null) {
+            for (List<Map<String, Object>> lessons : schedules.values()) {
+                for (Map<String, Object> lesson : lessons) {
+                    LocalDate date = parseQuietly(lesson.get("endLessonDate"));
+                    if (date != null && (end == null || date.isAfter(end))) {
+                        end = date;
+                    }
+                }
+            }
+        }
+        return end != null && !end.isBefore(start) ? end : start.plusDays(MAX_SEMESTER_DAYS - 1);
+    }
+
+    private static void setDay(long[] days, int day, int dayCount) {
+        if (day >= 0 && day < dayCount) {
+            days[day >>> 6] |= 1L << day;
+        }
+    }
+
+    private static LocalDate parseDate(Object value) {
+        return value instanceof String text && !text.isEmpty() ? LocalDate.parse(text, FORMATTER) : null;
+    }
+
+    private static LocalDate parseQuietly(Object value) {
+        try {
+            return parseDate(value);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static String auditorium(Map<String, Object> lesson) {
+        List<String> auditories = (List<String>) lesson.get("auditories");
+        return auditories != null && !auditories.isEmpty() ? auditories.get(0) : "";
+    }
+}
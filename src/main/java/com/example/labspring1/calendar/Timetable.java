@@ -0,0 +1,47 @@
+package com.example.labspring1.calendar;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.List;
+
+public final class Timetable {
+
+    private final String groupNumber;
+    private final LocalDate semesterStart;
+    private final int dayCount;
+    private final List<CompiledLesson>[] lessonsByDayOfWeek;
+    private final long fetchedAt;
+
+    Timetable(String groupNumber, LocalDate semesterStart, int dayCount,
+              List<CompiledLesson>[] lessonsByDayOfWeek, long fetchedAt) {
+        this.groupNumber = groupNumber;
+        this.semesterStart = semesterStart;
+        this.dayCount = dayCount;
+        this.lessonsByDayOfWeek = lessonsByDayOfWeek;
+        this.fetchedAt = fetchedAt;
+    }
+
+    public int dayIndex(LocalDate date) {
+        return (int) (date.toEpochDay() - semesterStart.toEpochDay());
+    }
+
+    public List<CompiledLesson> lessonsFor(DayOfWeek dayOfWeek) {
+        return lessonsByDayOfWeek[dayOfWeek.getValue() - 1];
+    }
+
+    public String getGroupNumber() {
+        return groupNumber;
+    }
+
+    public LocalDate getSemesterStart() {
+        return semesterStart;
+    }
+
+    public int getDayCount() {
+        return dayCount;
+    }
+
+    public long getFetchedAt() {
+        return fetchedAt;
+    }
+}
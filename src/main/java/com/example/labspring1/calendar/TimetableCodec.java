@@ -0,0 +1,79 @@
+package com.example.labspring1.calendar;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Binary encoding of a compiled {@link Timetable}, used by the cache snapshot.
+ */
+public final class TimetableCodec {
+
+    private static final int DAYS_IN_WEEK = 7;
+
+    private TimetableCodec() {
+    }
+
+    public static void write(DataOutput out, Timetable timetable) throws IOException {
+        out.writeUTF(timetable.getGroupNumber());
+        out.writeLong(timetable.getSemesterStart().toEpochDay());
+        out.writeInt(timetable.getDayCount());
+        out.writeLong(timetable.getFetchedAt());
+        for (int day = 0; day < DAYS_IN_WEEK; day++) {
+            List<CompiledLesson> lessons = timetable.lessonsFor(DayOfWeek.of(day + 1));
+            out.writeShort(lessons.size());
+            for (CompiledLesson lesson : lessons) {
+                writeString(out, lesson.getSubject());
+                writeString(out, lesson.getLessonType());
+                writeString(out, lesson.getTime());
+                writeString(out, lesson.getAuditorium());
+                long[] days = lesson.getDays();
+                out.writeShort(days.length);
+                for (long word : days) {
+                    out.writeLong(word);
+                }
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public static Timetable read(DataInput in) throws IOException {
+        String groupNumber = in.readUTF();
+        LocalDate semesterStart = LocalDate.ofEpochDay(in.readLong());
+        int dayCount = in.readInt();
+        long fetchedAt = in.readLong();
+        List<CompiledLesson>[] byDayOfWeek = new List[DAYS_IN_WEEK];
+        for (int day = 0; day < DAYS_IN_WEEK; day++) {
+            int count = in.readUnsignedShort();
+            List<CompiledLesson> lessons = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                String subject = readString(in);
+                String lessonType = readString(in);
+                String time = readString(in);
+                String auditorium = readString(in);
+                long[] days = new long[in.readUnsignedShort()];
+                for (int w = 0; w < days.length; w++) {
+                    days[w] = in.readLong();
+                }
+                lessons.add(new CompiledLesson(subject, lessonType, time, auditorium, days));
+            }
+            byDayOfWeek[day] = lessons;
+        }
+        return new Timetable(groupNumber, semesterStart, dayCount, byDayOfWeek, fetchedAt);
+    }
+
+    private static void writeString(DataOutput out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readString(DataInput in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+}
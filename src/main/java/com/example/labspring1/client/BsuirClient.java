@@ -0,0 +1,88 @@
+package com.example.labspring1.client;
+
+import com.example.labspring1.exception.UpstreamUnavailableException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@Component
+public class BsuirClient {
+
+    private final String apiUrl;
+    private final RestTemplate restTemplate;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final Timer successTimer;
+    private final Timer failureTimer;
+    private final Timer clientErrorTimer;
+    private final CircuitBreaker circuitBreaker;
+
+    public BsuirClient(@Value("${bsuir.api.url:https://iis.bsuir.by/api/v1/schedule?studentGroup=%s}") String apiUrl,
+                       @Value("${bsuir.circuit-breaker.failure-threshold:5}") int failureThreshold,
+                       @Value("${bsuir.circuit-breaker.open-seconds:30}") long openSeconds,
+                       RestTemplate bsuirRestTemplate, MeterRegistry meterRegistry) {
+        this.apiUrl = apiUrl;
+        this.restTemplate = bsuirRestTemplate;
+        this.objectMapper = new ObjectMapper();
+        this.meterRegistry = meterRegistry;
+        this.successTimer = upstreamTimer("success");
+        this.failureTimer = upstreamTimer("failure");
+        this.clientErrorTimer = upstreamTimer("client_error");
+        this.circuitBreaker = new CircuitBreaker(failureThreshold, TimeUnit.SECONDS.toNanos(openSeconds));
+        Gauge.builder("bsuir.upstream.circuit.state", circuitBreaker, breaker -> breaker.getState().ordinal())
+                .description("0 = closed, 1 = open, 2 = half-open")
+                .register(meterRegistry);
+    }
+
+    public Map<String, Object> fetchSchedule(String groupNumber) throws IOException {
+        long start = System.nanoTime();
+        if (!circuitBreaker.allowRequest(start)) {
+            throw new UpstreamUnavailableException("BSUIR API circuit is open");
+        }
+        try {
+            String url = String.format(apiUrl, groupNumber);
+            String jsonResponse = restTemplate.getForObject(url, String.class);
+            Map<String, Object> result = parse(jsonResponse);
+            successTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            circuitBreaker.recordSuccess();
+            return result;
+        } catch (HttpClientErrorException e) {
+            // A 4xx (typically 404 for a group BSUIR does not know) means the upstream is healthy
+            clientErrorTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            circuitBreaker.recordSuccess();
+            throw e;
+        } catch (IOException | RuntimeException e) {
+            long now = System.nanoTime();
+            failureTimer.record(now - start, TimeUnit.NANOSECONDS);
+            circuitBreaker.recordFailure(now);
+            Counter.builder("bsuir.upstream.failures")
+                    .tag("exception", e.getClass().getSimpleName())
+                    .register(meterRegistry)
+                    .increment();
+            throw e;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    Map<String, Object> parse(String json) throws IOException {
+        return objectMapper.readValue(json, Map.class);
+    }
+
+    private Timer upstreamTimer(String outcome) {
+        return Timer.builder("bsuir.upstream.requests")
+                .description("Latency of BSUIR timetable API calls")
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+}
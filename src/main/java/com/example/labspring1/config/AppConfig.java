@@ -3,8 +3,10 @@ package com.example.labspring1.config;
 import com.example.labspring1.service.RequestCounter;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
 
 @Configuration
+@ImportRuntimeHints(NativeHints.class)
 public class AppConfig {
 
     @Bean
@@ -0,0 +1,32 @@
+package com.example.labspring1.config;
+
+import com.example.labspring1.invalidation.InProcessInvalidationBus;
+import com.example.labspring1.invalidation.InvalidationBus;
+import com.example.labspring1.invalidation.PostgresInvalidationBus;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+@Configuration
+public class InvalidationConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "cache.invalidation.transport", havingValue = "postgres")
+    public InvalidationBus postgresInvalidationBus(DataSource dataSource,
+                                                   @Value("${spring.datasource.url}") String url,
+                                                   @Value("${spring.datasource.username}") String username,
+                                                   @Value("${spring.datasource.password}") String password,
+                                                   @Value("${cache.invalidation.channel:cache_invalidation}") String channel,
+                                                   @Value("${cache.invalidation.poll-ms:500}") int pollMillis) {
+        return new PostgresInvalidationBus(dataSource, url, username, password, channel, pollMillis);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "cache.invalidation.transport", havingValue = "in-process", matchIfMissing = true)
+    public InvalidationBus inProcessInvalidationBus() {
+        return new InProcessInvalidationBus();
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.labspring1.config;
+
+import com.example.labspring1.aspect.LoggingAspect;
+import com.example.labspring1.dto.ChangesDto;
+import com.example.labspring1.dto.GroupDto;
+import com.example.labspring1.dto.GroupPatchDto;
+import com.example.labspring1.dto.ScheduleDto;
+import com.example.labspring1.dto.SchedulePatchDto;
+import com.example.labspring1.push.ScheduleChangedEvent;
+import com.example.labspring1.push.TimetableRefreshedEvent;
+import com.example.labspring1.repository.GroupSummary;
+import com.example.labspring1.service.ChangeFeedService;
+import com.example.labspring1.service.ChangeLogService;
+import com.example.labspring1.service.GroupService;
+import com.example.labspring1.service.ScheduleService;
+import com.example.labspring1.service.TimetableService;
+import com.example.labspring1.timing.TimingAspect;
+import com.example.labspring1.timing.TimingSessionEventListener;
+import org.springframework.aop.SpringProxy;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.core.DecoratingProxy;
+import org.springframework.data.projection.TargetAware;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+/**
+ * Reflection, proxy and resource hints for the native image that Spring AOT cannot infer on its own.
+ */
+public class NativeHints implements RuntimeHintsRegistrar {
+
+    private static final List<Class<?>> JSON_TYPES = List.of(GroupDto.class, ScheduleDto.class, GroupPatchDto.class,
+            SchedulePatchDto.class, ChangesDto.class, ScheduleChangedEvent.class, TimetableRefreshedEvent.class);
+
+    private static final List<Class<?>> PROFILED_SERVICES = List.of(GroupService.class, ScheduleService.class,
+            TimetableService.class, ChangeLogService.class, ChangeFeedService.class);
+
+    private final BindingReflectionHintsRegistrar bindingRegistrar = new BindingReflectionHintsRegistrar();
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        // Jackson: request/response bodies, SSE payloads and the schemas springdoc derives from them
+        bindingRegistrar.registerReflectionHints(hints.reflection(), JSON_TYPES.toArray(Class<?>[]::new));
+        // Jackson: BsuirClient reads the upstream timetable as an untyped Map
+        hints.reflection().registerType(LinkedHashMap.class, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+        hints.reflection().registerType(ArrayList.class, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+
+        // Hibernate: interface projections are JDK proxies; the natural-id cache is configured by resource
+        hints.proxies().registerJdkProxy(GroupSummary.class, TargetAware.class, SpringProxy.class,
+                DecoratingProxy.class);
+        hints.reflection().registerType(TypeReference.of("org.ehcache.jsr107.EhcacheCachingProvider"),
+                MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+        hints.reflection().registerType(TypeReference.of("org.hibernate.cache.jcache.internal.JCacheRegionFactory"),
+                MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+        hints.resources().registerPattern("ehcache.xml");
+        // Flyway: Boot only registers hints for db/migration, not for the vendor-specific scripts
+        hints.resources().registerPattern("db/vendor/*/*.sql");
+        hints.reflection().registerType(TimingSessionEventListener.class, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+
+        // AspectJ: LoggingAspect and TimingAspect advice is invoked reflectively and its pointcut matches the service methods
+        hints.reflection().registerType(LoggingAspect.class, MemberCategory.INVOKE_DECLARED_METHODS);
+        hints.reflection().registerType(TimingAspect.class, MemberCategory.INVOKE_DECLARED_METHODS);
+        PROFILED_SERVICES.forEach(type -> hints.reflection().registerType(type,
+                MemberCategory.INTROSPECT_PUBLIC_METHODS, MemberCategory.INTROSPECT_DECLARED_METHODS));
+    }
+}
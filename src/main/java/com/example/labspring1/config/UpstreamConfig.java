@@ -0,0 +1,41 @@
+package com.example.labspring1.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.web.client.RestTemplate;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+
+@Configuration
+public class UpstreamConfig {
+
+    @Bean
+    public UpstreamExecutor upstreamExecutor(@Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads,
+                                             @Value("${upstream.executor.pool-size:32}") int poolSize) {
+        if (virtualThreads) {
+            return new UpstreamExecutor(
+                    Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("upstream-", 0).factory()));
+        }
+        return new UpstreamExecutor(Executors.newFixedThreadPool(poolSize, new CustomizableThreadFactory("upstream-")));
+    }
+
+    /**
+     * The client keeps its default executor: sharing the upstream pool would let callers blocked in
+     * {@code send()} starve the threads that complete their responses.
+     */
+    @Bean
+    public RestTemplate bsuirRestTemplate(@Value("${bsuir.api.connect-timeout-ms:2000}") long connectTimeoutMs,
+                                          @Value("${bsuir.api.read-timeout-ms:5000}") long readTimeoutMs) {
+        HttpClient httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+                .build();
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient);
+        requestFactory.setReadTimeout(Duration.ofMillis(readTimeoutMs));
+        return new RestTemplate(requestFactory);
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.labspring1.config;
+
+import java.util.concurrent.ExecutorService;
+
+/**
+ * The pool for background upstream work (timetable refreshes, cache warm-up). It is deliberately not an
+ * {@link java.util.concurrent.Executor} bean: one of those would make Boot back off from creating its own
+ * {@code applicationTaskExecutor}.
+ */
+public class UpstreamExecutor implements AutoCloseable {
+
+    private final ExecutorService delegate;
+
+    public UpstreamExecutor(ExecutorService delegate) {
+        this.delegate = delegate;
+    }
+
+    public void execute(Runnable task) {
+        delegate.execute(task);
+    }
+
+    @Override
+    public void close() {
+        delegate.shutdownNow();
+    }
+}
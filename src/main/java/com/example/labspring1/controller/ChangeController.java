@@ -0,0 +1,21 @@
+package com.example.labspring1.controller;
+
+import com.example.labspring1.dto.ChangesDto;
+import com.example.labspring1.service.ChangeFeedService;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/changes")
+public class ChangeController {
+
+    private final ChangeFeedService changeFeedService;
+
+    public ChangeController(ChangeFeedService changeFeedService) {
+        this.changeFeedService = changeFeedService;
+    }
+
+    @GetMapping
+    public ChangesDto getChanges(@RequestParam(required = false) Long since) {
+        return changeFeedService.changesSince(since);
+    }
+}
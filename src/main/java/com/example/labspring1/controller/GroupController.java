@@ -1,13 +1,18 @@
 package com.example.labspring1.controller;
 
+import com.example.labspring1.config.BinaryFormatConfig;
 import com.example.labspring1.dto.GroupDto;
+import com.example.labspring1.dto.GroupPatchDto;
+import com.example.labspring1.dto.GroupShape;
 import com.example.labspring1.service.GroupService;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/groups")
@@ -19,19 +24,25 @@ public class GroupController {
         this.groupService = groupService;
     }
 
-    @GetMapping
-    public List<GroupDto> getAllGroups() {
-        return groupService.findAll();
+    @GetMapping(produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE,
+            BinaryFormatConfig.APPLICATION_SMILE_VALUE})
+    public List<GroupDto> getAllGroups(@RequestParam(required = false) String fields,
+                                       @RequestParam(required = false) String include) {
+        return groupService.findAll(GroupShape.of(fields, include));
     }
 
     @GetMapping("/{id}")
-    public GroupDto getGroupById(@PathVariable Long id) {
-        return groupService.findById(id);
+    public GroupDto getGroupById(@PathVariable Long id,
+                                 @RequestParam(required = false) String fields,
+                                 @RequestParam(required = false) String include) {
+        return groupService.findById(id, GroupShape.of(fields, include));
     }
 
     @GetMapping("/number/{groupNumber}")
-    public GroupDto getGroupByNumber(@PathVariable String groupNumber) {
-        return groupService.findByGroupNumber(groupNumber);
+    public GroupDto getGroupByNumber(@PathVariable String groupNumber,
+                                     @RequestParam(required = false) String fields,
+                                     @RequestParam(required = false) String include) {
+        return groupService.findByGroupNumber(groupNumber, GroupShape.of(fields, include));
     }
 
     @PostMapping
@@ -44,6 +55,12 @@ public class GroupController {
         return groupService.update(id, groupDto);
     }
 
+    @PatchMapping("/{id}")
+    public ResponseEntity<Void> patchGroup(@PathVariable Long id, @Valid @RequestBody GroupPatchDto patch) {
+        long version = groupService.patch(id, patch);
+        return ResponseEntity.noContent().eTag(String.valueOf(version)).build();
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteGroup(@PathVariable Long id) {
         groupService.delete(id);
@@ -61,4 +78,10 @@ public class GroupController {
         List<GroupDto> updatedGroups = groupService.updateBulk(groupDtos);
         return ResponseEntity.ok(updatedGroups);
     }
-}
\ No newline at end of file
+
+    @PostMapping("/bulk-delete")
+    public ResponseEntity<Map<String, Integer>> deleteGroupsBulk(@RequestBody List<Long> ids) {
+        int deleted = groupService.deleteBulk(ids);
+        return ResponseEntity.ok(Map.of("deleted", deleted));
+    }
+}
@@ -1,13 +1,17 @@
 package com.example.labspring1.controller;
 
+import com.example.labspring1.config.BinaryFormatConfig;
 import com.example.labspring1.dto.ScheduleDto;
+import com.example.labspring1.dto.SchedulePatchDto;
 import com.example.labspring1.service.ScheduleService;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/schedules")
@@ -19,7 +23,8 @@ public class ScheduleController {
         this.scheduleService = scheduleService;
     }
 
-    @GetMapping
+    @GetMapping(produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE,
+            BinaryFormatConfig.APPLICATION_SMILE_VALUE})
     public List<ScheduleDto> getAllSchedules() {
         return scheduleService.findAll();
     }
@@ -54,6 +59,12 @@ public class ScheduleController {
         return scheduleService.update(id, scheduleDto);
     }
 
+    @PatchMapping("/{id}")
+    public ResponseEntity<Void> patchSchedule(@PathVariable Long id, @Valid @RequestBody SchedulePatchDto patch) {
+        long version = scheduleService.patch(id, patch);
+        return ResponseEntity.noContent().eTag(String.valueOf(version)).build();
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteSchedule(@PathVariable Long id) {
         scheduleService.delete(id);
@@ -71,4 +82,10 @@ public class ScheduleController {
         List<ScheduleDto> updatedSchedules = scheduleService.updateBulk(scheduleDtos);
         return ResponseEntity.ok(updatedSchedules);
     }
-}
\ No newline at end of file
+
+    @PostMapping("/bulk-delete")
+    public ResponseEntity<Map<String, Integer>> deleteSchedulesBulk(@RequestBody List<Long> ids) {
+        int deleted = scheduleService.deleteBulk(ids);
+        return ResponseEntity.ok(Map.of("deleted", deleted));
+    }
+}
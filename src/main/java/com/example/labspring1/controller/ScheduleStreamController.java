@@ -0,0 +1,44 @@
+package com.example.labspring1.controller;
+
+import com.example.labspring1.dto.GroupShape;
+import com.example.labspring1.exception.InvalidRequestException;
+import com.example.labspring1.push.ScheduleEventBroadcaster;
+import com.example.labspring1.service.GroupService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/schedules/stream")
+public class ScheduleStreamController {
+
+    private static final GroupShape NUMBER_ONLY = GroupShape.of("id,groupNumber", null);
+
+    private final GroupService groupService;
+    private final ScheduleEventBroadcaster broadcaster;
+    private final int maxGroups;
+
+    public ScheduleStreamController(GroupService groupService, ScheduleEventBroadcaster broadcaster,
+                                    @Value("${push.max-groups-per-subscription:50}") int maxGroups) {
+        this.groupService = groupService;
+        this.broadcaster = broadcaster;
+        this.maxGroups = maxGroups;
+    }
+
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribe(@RequestParam List<Long> groupIds) {
+        if (groupIds.isEmpty() || groupIds.size() > maxGroups) {
+            throw new InvalidRequestException("groupIds must contain between 1 and " + maxGroups + " ids");
+        }
+        Map<Long, String> groups = new LinkedHashMap<>();
+        for (Long groupId : groupIds) {
+            groups.put(groupId, groupService.findById(groupId, NUMBER_ONLY).getGroupNumber());
+        }
+        return broadcaster.subscribe(groups);
+    }
+}
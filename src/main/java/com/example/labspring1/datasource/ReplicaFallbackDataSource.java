@@ -0,0 +1,48 @@
+package com.example.labspring1.datasource;
+
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Read-only side of the routing: hands out replica connections while the replica is healthy and
+ * falls back to the primary when it is down or lagging.
+ */
+public class ReplicaFallbackDataSource extends AbstractDataSource {
+
+    private final DataSource replica;
+    private final DataSource primary;
+    private final ReplicaHealthMonitor healthMonitor;
+
+    public ReplicaFallbackDataSource(DataSource replica, DataSource primary, ReplicaHealthMonitor healthMonitor) {
+        this.replica = replica;
+        this.primary = primary;
+        this.healthMonitor = healthMonitor;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (healthMonitor.isAvailable()) {
+            try {
+                return replica.getConnection();
+            } catch (SQLException e) {
+                healthMonitor.markUnavailable(e);
+            }
+        }
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        if (healthMonitor.isAvailable()) {
+            try {
+                return replica.getConnection(username, password);
+            } catch (SQLException e) {
+                healthMonitor.markUnavailable(e);
+            }
+        }
+        return primary.getConnection(username, password);
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.labspring1.datasource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+public class ReplicaHealthMonitor {
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaHealthMonitor.class);
+
+    private final DataSource replica;
+    private final String lagQuery;
+    private final double maxLagSeconds;
+    private volatile boolean available = true;
+
+    public ReplicaHealthMonitor(DataSource replica, String lagQuery, double maxLagSeconds) {
+        this.replica = replica;
+        this.lagQuery = lagQuery;
+        this.maxLagSeconds = maxLagSeconds;
+    }
+
+    public boolean isAvailable() {
+        return available;
+    }
+
+    public void markUnavailable(SQLException cause) {
+        if (available) {
+            logger.warn("Replica connection failed, routing reads to primary: {}", cause.getMessage());
+        }
+        available = false;
+    }
+
+    public void check() {
+        boolean healthy;
+        try (Connection connection = replica.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(lagQuery)) {
+            double lag = resultSet.next() ? resultSet.getDouble(1) : 0;
+            healthy = lag <= maxLagSeconds;
+            if (!healthy && available) {
+                logger.warn("Replica lag {}s exceeds {}s, routing reads to primary", lag, maxLagSeconds);
+            }
+        } catch (SQLException e) {
+            healthy = false;
+            if (available) {
+                logger.warn("Replica health check failed, routing reads to primary: {}", e.getMessage());
+            }
+        }
+        if (healthy && !available) {
+            logger.info("Replica is healthy again, routing reads to replica");
+        }
+        available = healthy;
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.labspring1.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class ChangesDto {
+    private long token;
+    private boolean resync;
+    private boolean hasMore;
+    private List<GroupDto> createdGroups = new ArrayList<>();
+    private List<GroupDto> updatedGroups = new ArrayList<>();
+    private List<Long> deletedGroupIds = new ArrayList<>();
+    private List<ScheduleDto> createdSchedules = new ArrayList<>();
+    private List<ScheduleDto> updatedSchedules = new ArrayList<>();
+    private List<Long> deletedScheduleIds = new ArrayList<>();
+
+    public long getToken() {
+        return token;
+    }
+
+    public void setToken(long token) {
+        this.token = token;
+    }
+
+    public boolean isResync() {
+        return resync;
+    }
+
+    public void setResync(boolean resync) {
+        this.resync = resync;
+    }
+
+    public boolean isHasMore() {
+        return hasMore;
+    }
+
+    public void setHasMore(boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+
+    public List<GroupDto> getCreatedGroups() {
+        return createdGroups;
+    }
+
+    public void setCreatedGroups(List<GroupDto> createdGroups) {
+        this.createdGroups = createdGroups;
+    }
+
+    public List<GroupDto> getUpdatedGroups() {
+        return updatedGroups;
+    }
+
+    public void setUpdatedGroups(List<GroupDto> updatedGroups) {
+        this.updatedGroups = updatedGroups;
+    }
+
+    public List<Long> getDeletedGroupIds() {
+        return deletedGroupIds;
+    }
+
+    public void setDeletedGroupIds(List<Long> deletedGroupIds) {
+        this.deletedGroupIds = deletedGroupIds;
+    }
+
+    public List<ScheduleDto> getCreatedSchedules() {
+        return createdSchedules;
+    }
+
+    public void setCreatedSchedules(List<ScheduleDto> createdSchedules) {
+        this.createdSchedules = createdSchedules;
+    }
+
+    public List<ScheduleDto> getUpdatedSchedules() {
+        return updatedSchedules;
+    }
+
+    public void setUpdatedSchedules(List<ScheduleDto> updatedSchedules) {
+        this.updatedSchedules = updatedSchedules;
+    }
+
+    public List<Long> getDeletedScheduleIds() {
+        return deletedScheduleIds;
+    }
+
+    public void setDeletedScheduleIds(List<Long> deletedScheduleIds) {
+        this.deletedScheduleIds = deletedScheduleIds;
+    }
+}
@@ -1,8 +1,10 @@
 package com.example.labspring1.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import jakarta.validation.constraints.NotBlank;
 import java.util.List;
 
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class GroupDto {
     private Long id;
 
@@ -11,6 +13,8 @@ public class GroupDto {
 
     private List<ScheduleDto> schedules;
 
+    private Long version;
+
     public GroupDto() { }
 
     public GroupDto(Long id, String groupNumber, List<ScheduleDto> schedules) {
@@ -42,4 +46,12 @@ public class GroupDto {
     public void setSchedules(List<ScheduleDto> schedules) {
         this.schedules = schedules;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,29 @@
+package com.example.labspring1.dto;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+
+public class GroupPatchDto {
+
+    @Pattern(regexp = ".*\\S.*", message = "Group number cannot be blank")
+    private String groupNumber;
+
+    @NotNull(message = "Version cannot be null")
+    private Long version;
+
+    public String getGroupNumber() {
+        return groupNumber;
+    }
+
+    public void setGroupNumber(String groupNumber) {
+        this.groupNumber = groupNumber;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+}
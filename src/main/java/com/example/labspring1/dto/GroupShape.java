@@ -0,0 +1,95 @@
+package com.example.labspring1.dto;
+
+import com.example.labspring1.exception.InvalidRequestException;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * The subset of {@link GroupDto} fields a client asked for with {@code ?fields=} and {@code ?include=}.
+ * Without either parameter the full representation is returned.
+ */
+public final class GroupShape {
+
+    public enum Field {
+        ID("id"), GROUP_NUMBER("groupNumber"), VERSION("version"), SCHEDULES("schedules");
+
+        private final String name;
+
+        Field(String name) {
+            this.name = name;
+        }
+
+        static Field of(String name) {
+            for (Field field : values()) {
+                if (field.name.equals(name)) {
+                    return field;
+                }
+            }
+            throw new InvalidRequestException("Unknown group field: " + name);
+        }
+    }
+
+    public static final GroupShape FULL = new GroupShape(EnumSet.allOf(Field.class));
+
+    private final Set<Field> fields;
+    private final String key;
+
+    private GroupShape(Set<Field> fields) {
+        this.fields = fields;
+        this.key = fields.stream().map(field -> field.name).collect(Collectors.joining(","));
+    }
+
+    public static GroupShape of(String fields, String include) {
+        List<Field> included = parse(include);
+        if (included.stream().anyMatch(field -> field != Field.SCHEDULES)) {
+            throw new InvalidRequestException("Only schedules can be included");
+        }
+        List<Field> requested = parse(fields);
+        if (requested.isEmpty()) {
+            return FULL;
+        }
+        Set<Field> selected = EnumSet.copyOf(requested);
+        selected.addAll(included);
+        return selected.size() == Field.values().length ? FULL : new GroupShape(selected);
+    }
+
+    private static List<Field> parse(String names) {
+        if (names == null) {
+            return List.of();
+        }
+        return Arrays.stream(names.split(","))
+                .map(String::trim)
+                .filter(name -> !name.isEmpty())
+                .map(Field::of)
+                .collect(Collectors.toList());
+    }
+
+    public boolean isFull() {
+        return this == FULL;
+    }
+
+    public boolean includesSchedules() {
+        return fields.contains(Field.SCHEDULES);
+    }
+
+    public String key() {
+        return key;
+    }
+
+    public GroupDto project(Long id, String groupNumber, Long version, List<ScheduleDto> schedules) {
+        GroupDto dto = new GroupDto(
+                fields.contains(Field.ID) ? id : null,
+                fields.contains(Field.GROUP_NUMBER) ? groupNumber : null,
+                fields.contains(Field.SCHEDULES) ? schedules : null);
+        dto.setVersion(fields.contains(Field.VERSION) ? version : null);
+        return dto;
+    }
+
+    public GroupDto project(GroupDto full) {
+        return project(full.getId(), full.getGroupNumber(), full.getVersion(), full.getSchedules());
+    }
+}
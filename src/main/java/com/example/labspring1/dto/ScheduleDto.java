@@ -1,10 +1,9 @@
 package com.example.labspring1.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 
-import java.util.List;
-
 public class ScheduleDto {
     private Long id;
 
@@ -25,7 +24,10 @@ public class ScheduleDto {
 
     private String groupNumber;
     private String date;
-    private List<ScheduleDto> schedules;
+    private Long version;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Boolean stale;
 
     public ScheduleDto() {
     }
@@ -103,11 +105,19 @@ public class ScheduleDto {
         this.date = date;
     }
 
-    public List<ScheduleDto> getSchedules() {
-        return schedules;
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public Boolean getStale() {
+        return stale;
     }
 
-    public void setSchedules(List<ScheduleDto> schedules) {
-        this.schedules = schedules;
+    public void setStale(Boolean stale) {
+        this.stale = stale;
     }
 }
\ No newline at end of file
@@ -0,0 +1,72 @@
+package com.example.labspring1.dto;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+
+public class SchedulePatchDto {
+
+    @Pattern(regexp = ".*\\S.*", message = "Subject cannot be blank")
+    private String subject;
+
+    @Pattern(regexp = ".*\\S.*", message = "Lesson type cannot be blank")
+    private String lessonType;
+
+    @Pattern(regexp = ".*\\S.*", message = "Time cannot be blank")
+    private String time;
+
+    @Pattern(regexp = ".*\\S.*", message = "Auditorium cannot be blank")
+    private String auditorium;
+
+    private Long groupId;
+
+    @NotNull(message = "Version cannot be null")
+    private Long version;
+
+    public String getSubject() {
+        return subject;
+    }
+
+    public void setSubject(String subject) {
+        this.subject = subject;
+    }
+
+    public String getLessonType() {
+        return lessonType;
+    }
+
+    public void setLessonType(String lessonType) {
+        this.lessonType = lessonType;
+    }
+
+    public String getTime() {
+        return time;
+    }
+
+    public void setTime(String time) {
+        this.time = time;
+    }
+
+    public String getAuditorium() {
+        return auditorium;
+    }
+
+    public void setAuditorium(String auditorium) {
+        this.auditorium = auditorium;
+    }
+
+    public Long getGroupId() {
+        return groupId;
+    }
+
+    public void setGroupId(Long groupId) {
+        this.groupId = groupId;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.labspring1.exception;
+
+import jakarta.persistence.EntityNotFoundException;
+
+/**
+ * Not-found without a stack trace: it is an expected outcome (typos, scanners), not a bug,
+ * so filling in the trace would be pure overhead.
+ */
+public class NotFoundException extends EntityNotFoundException {
+
+    public NotFoundException(String message) {
+        super(message);
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+}
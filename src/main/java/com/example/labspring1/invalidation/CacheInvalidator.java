@@ -0,0 +1,127 @@
+package com.example.labspring1.invalidation;
+
+import com.example.labspring1.cache.CacheManager;
+import com.example.labspring1.model.Group;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Publishes this node's writes to peers once the transaction commits. It also applies peers'
+ * events to the local {@link CacheManager} in batches.
+ */
+@Component
+public class CacheInvalidator {
+
+    private final CacheManager cacheManager;
+    private final InvalidationBus bus;
+    private final EntityManagerFactory entityManagerFactory;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final Queue<InvalidationEvent> pending = new ConcurrentLinkedQueue<>();
+
+    public CacheInvalidator(CacheManager cacheManager, InvalidationBus bus,
+                            EntityManagerFactory entityManagerFactory) {
+        this.cacheManager = cacheManager;
+        this.bus = bus;
+        this.entityManagerFactory = entityManagerFactory;
+        bus.subscribe(this::receive);
+        cacheManager.trustFilterRejectionsWhile(bus::deliversPeerEvents);
+    }
+
+    public void groupsChanged(Collection<Long> ids) {
+        publishAfterCommit(InvalidationEvent.of(nodeId, InvalidationEvent.Region.GROUP, ids));
+    }
+
+    public void groupChanged(Long id) {
+        groupsChanged(List.of(id));
+    }
+
+    public void schedulesChanged(Collection<Long> ids) {
+        publishAfterCommit(InvalidationEvent.of(nodeId, InvalidationEvent.Region.SCHEDULE, ids));
+    }
+
+    public void scheduleChanged(Long id) {
+        schedulesChanged(List.of(id));
+    }
+
+    @Scheduled(fixedDelayString = "${cache.invalidation.batch-interval-ms:100}")
+    public void applyPending() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        Set<Long> groupIds = new HashSet<>();
+        Set<Long> scheduleIds = new HashSet<>();
+        boolean allGroups = false;
+        boolean allSchedules = false;
+        InvalidationEvent event;
+        while ((event = pending.poll()) != null) {
+            boolean group = event.getRegion() == InvalidationEvent.Region.GROUP;
+            if (event.isWholeRegion()) {
+                if (group) {
+                    allGroups = true;
+                } else {
+                    allSchedules = true;
+                }
+            }
+            for (long id : event.getIds()) {
+                (group ? groupIds : scheduleIds).add(id);
+            }
+        }
+
+        if (allGroups || allSchedules) {
+            // No ids (oversized event or missed notifications): peers' creates may be missing from the filter
+            cacheManager.existence().distrust();
+        }
+        if (allGroups || !groupIds.isEmpty()) {
+            // Hibernate clears the group_number -> id region only on the node that ran the update or delete
+            entityManagerFactory.getCache().unwrap(org.hibernate.Cache.class).evictNaturalIdData(Group.class);
+        }
+        if (allGroups) {
+            cacheManager.clearGroupCache();
+        } else if (!groupIds.isEmpty()) {
+            groupIds.forEach(cacheManager::removeGroup);
+            cacheManager.clearGroupLists();
+            cacheManager.peerGroupsChanged(groupIds);
+        }
+        if (allSchedules) {
+            cacheManager.clearScheduleCache();
+        } else if (!scheduleIds.isEmpty()) {
+            scheduleIds.forEach(cacheManager::removeSchedule);
+            cacheManager.clearScheduleLists();
+            cacheManager.peerSchedulesChanged(scheduleIds);
+        }
+    }
+
+    String getNodeId() {
+        return nodeId;
+    }
+
+    void receive(InvalidationEvent event) {
+        if (!nodeId.equals(event.getOrigin())) {
+            pending.add(event);
+        }
+    }
+
+    private void publishAfterCommit(InvalidationEvent event) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    bus.publish(event);
+                }
+            });
+        } else {
+            bus.publish(event);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.labspring1.invalidation;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Delivers events to every subscriber in the same JVM. Used for single-node deployments and tests.
+ */
+public class InProcessInvalidationBus implements InvalidationBus {
+
+    private final List<Consumer<InvalidationEvent>> listeners = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish(InvalidationEvent event) {
+        listeners.forEach(listener -> listener.accept(event));
+    }
+
+    @Override
+    public void subscribe(Consumer<InvalidationEvent> listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Other nodes' writes never arrive here, whether or not there are other nodes.
+     */
+    @Override
+    public boolean deliversPeerEvents() {
+        return false;
+    }
+}
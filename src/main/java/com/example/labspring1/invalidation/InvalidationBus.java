@@ -0,0 +1,15 @@
+package com.example.labspring1.invalidation;
+
+import java.util.function.Consumer;
+
+public interface InvalidationBus {
+
+    void publish(InvalidationEvent event);
+
+    void subscribe(Consumer<InvalidationEvent> listener);
+
+    /**
+     * Whether events published on other nodes currently reach this node's subscribers.
+     */
+    boolean deliversPeerEvents();
+}
@@ -0,0 +1,64 @@
+package com.example.labspring1.invalidation;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.stream.Collectors;
+
+/**
+ * A change to cached groups or schedules, encoded as {@code origin|region|id,id,...}.
+ * An empty id list invalidates the whole region.
+ */
+public final class InvalidationEvent {
+
+    public enum Region {
+        GROUP, SCHEDULE
+    }
+
+    private final String origin;
+    private final Region region;
+    private final long[] ids;
+
+    public InvalidationEvent(String origin, Region region, long[] ids) {
+        this.origin = origin;
+        this.region = region;
+        this.ids = ids;
+    }
+
+    public static InvalidationEvent of(String origin, Region region, Collection<Long> ids) {
+        return new InvalidationEvent(origin, region, ids.stream().mapToLong(Long::longValue).toArray());
+    }
+
+    public static InvalidationEvent decode(String payload) {
+        String[] parts = payload.split("\\|", -1);
+        if (parts.length != 3) {
+            throw new IllegalArgumentException("Malformed invalidation event: " + payload);
+        }
+        long[] ids = parts[2].isEmpty() ? new long[0]
+                : Arrays.stream(parts[2].split(",")).mapToLong(Long::parseLong).toArray();
+        return new InvalidationEvent(parts[0], Region.valueOf(parts[1]), ids);
+    }
+
+    public String encode() {
+        return origin + "|" + region + "|" + Arrays.stream(ids).mapToObj(Long::toString).collect(Collectors.joining(","));
+    }
+
+    public InvalidationEvent wholeRegion() {
+        return new InvalidationEvent(origin, region, new long[0]);
+    }
+
+    public boolean isWholeRegion() {
+        return ids.length == 0;
+    }
+
+    public String getOrigin() {
+        return origin;
+    }
+
+    public Region getRegion() {
+        return region;
+    }
+
+    public long[] getIds() {
+        return ids;
+    }
+}
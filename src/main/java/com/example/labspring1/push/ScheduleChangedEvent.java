@@ -0,0 +1,34 @@
+package com.example.labspring1.push;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Published by schedule writes and delivered to SSE subscribers after the transaction commits.
+ * An empty group list means the affected groups are unknown and every subscriber is notified.
+ */
+public class ScheduleChangedEvent {
+
+    private final List<Long> groupIds;
+    private final List<Long> scheduleIds;
+    private final String operation;
+
+    public ScheduleChangedEvent(Collection<Long> groupIds, Collection<Long> scheduleIds, String operation) {
+        this.groupIds = groupIds.stream().filter(Objects::nonNull).distinct().toList();
+        this.scheduleIds = List.copyOf(scheduleIds);
+        this.operation = operation;
+    }
+
+    public List<Long> getGroupIds() {
+        return groupIds;
+    }
+
+    public List<Long> getScheduleIds() {
+        return scheduleIds;
+    }
+
+    public String getOperation() {
+        return operation;
+    }
+}
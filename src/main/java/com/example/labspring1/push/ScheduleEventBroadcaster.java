@@ -0,0 +1,213 @@
+package com.example.labspring1.push;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Fans schedule and timetable events out to SSE subscribers. Idle connections hold no thread: each subscriber
+ * has a small bounded queue that is drained on the push executor only while it has events. A subscriber
+ * that falls behind has its queue replaced by a single {@code resync} event telling it to reload. Writes block
+ * on slow clients, so drains run on virtual threads unless a fixed pool size is configured.
+ */
+@Component
+public class ScheduleEventBroadcaster implements MeterBinder {
+
+    private final Map<String, Set<Subscriber>> subscriptions = new ConcurrentHashMap<>();
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final Executor executor;
+    private final long timeoutMillis;
+    private final int queueCapacity;
+    private final LongAdder dropped = new LongAdder();
+
+    @Autowired
+    public ScheduleEventBroadcaster(@Value("${push.executor.pool-size:0}") int poolSize,
+                                    @Value("${push.sse.timeout-ms:1800000}") long timeoutMillis,
+                                    @Value("${push.queue-capacity:32}") int queueCapacity) {
+        this(poolSize > 0
+                ? Executors.newFixedThreadPool(poolSize, new CustomizableThreadFactory("push-"))
+                : Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("push-", 0).factory()),
+                timeoutMillis, queueCapacity);
+    }
+
+    ScheduleEventBroadcaster(Executor executor, long timeoutMillis, int queueCapacity) {
+        this.executor = executor;
+        this.timeoutMillis = timeoutMillis;
+        this.queueCapacity = queueCapacity;
+    }
+
+    public SseEmitter subscribe(Map<Long, String> groups) {
+        SseEmitter emitter = createEmitter(timeoutMillis);
+        Subscriber subscriber = new Subscriber(emitter, queueCapacity);
+        for (Map.Entry<Long, String> group : groups.entrySet()) {
+            subscriber.keys.add(idKey(group.getKey()));
+            subscriber.keys.add(numberKey(group.getValue()));
+        }
+        emitter.onCompletion(() -> unsubscribe(subscriber));
+        emitter.onTimeout(() -> unsubscribe(subscriber));
+        emitter.onError(e -> unsubscribe(subscriber));
+        subscribers.add(subscriber);
+        subscriber.keys.forEach(key -> subscriptions.computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet())
+                .add(subscriber));
+        enqueue(subscriber, new PushEvent("subscribed", groups.keySet()));
+        return emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onScheduleChanged(ScheduleChangedEvent event) {
+        PushEvent pushEvent = new PushEvent("schedule", event);
+        if (event.getGroupIds().isEmpty()) {
+            subscribers.forEach(subscriber -> enqueue(subscriber, pushEvent));
+            return;
+        }
+        Set<Subscriber> targets = ConcurrentHashMap.newKeySet();
+        event.getGroupIds().forEach(groupId -> targets.addAll(subscriptions.getOrDefault(idKey(groupId), Set.of())));
+        targets.forEach(subscriber -> enqueue(subscriber, pushEvent));
+    }
+
+    @EventListener
+    public void onTimetableRefreshed(TimetableRefreshedEvent event) {
+        PushEvent pushEvent = new PushEvent("timetable", event);
+        subscriptions.getOrDefault(numberKey(event.getGroupNumber()), Set.of())
+                .forEach(subscriber -> enqueue(subscriber, pushEvent));
+    }
+
+    @Scheduled(fixedRateString = "${push.heartbeat-ms:15000}")
+    public void heartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.queue.isEmpty()) {
+                enqueue(subscriber, PushEvent.HEARTBEAT);
+            }
+        }
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        if (executor instanceof ExecutorService executorService) {
+            executorService.shutdownNow();
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("app.push.subscribers", subscribers, Set::size).register(registry);
+        FunctionCounter.builder("app.push.dropped", dropped, LongAdder::sum).register(registry);
+    }
+
+    SseEmitter createEmitter(long timeout) {
+        return new SseEmitter(timeout);
+    }
+
+    private void enqueue(Subscriber subscriber, PushEvent event) {
+        if (subscriber.closed) {
+            return;
+        }
+        if (!subscriber.queue.offer(event)) {
+            dropped.add(subscriber.queue.size());
+            subscriber.queue.clear();
+            subscriber.queue.offer(PushEvent.RESYNC);
+        }
+        scheduleDrain(subscriber);
+    }
+
+    private void scheduleDrain(Subscriber subscriber) {
+        if (subscriber.draining.compareAndSet(false, true)) {
+            executor.execute(() -> drain(subscriber));
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            PushEvent event;
+            while (!subscriber.closed && (event = subscriber.queue.poll()) != null) {
+                subscriber.emitter.send(event.toSse());
+            }
+        } catch (IOException | IllegalStateException e) {
+            unsubscribe(subscriber);
+        } finally {
+            subscriber.draining.set(false);
+        }
+        if (!subscriber.closed && !subscriber.queue.isEmpty()) {
+            scheduleDrain(subscriber);
+        }
+    }
+
+    private void unsubscribe(Subscriber subscriber) {
+        subscriber.closed = true;
+        subscribers.remove(subscriber);
+        for (String key : subscriber.keys) {
+            subscriptions.computeIfPresent(key, (k, set) -> {
+                set.remove(subscriber);
+                return set.isEmpty() ? null : set;
+            });
+        }
+    }
+
+    private static String idKey(Long groupId) {
+        return "id:" + groupId;
+    }
+
+    private static String numberKey(String groupNumber) {
+        return "number:" + groupNumber;
+    }
+
+    private static final class Subscriber {
+        private final SseEmitter emitter;
+        private final ArrayBlockingQueue<PushEvent> queue;
+        private final Set<String> keys = ConcurrentHashMap.newKeySet();
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile boolean closed;
+
+        Subscriber(SseEmitter emitter, int capacity) {
+            this.emitter = emitter;
+            this.queue = new ArrayBlockingQueue<>(capacity);
+        }
+    }
+
+    private static final class PushEvent {
+        static final PushEvent HEARTBEAT = new PushEvent(null, null);
+        static final PushEvent RESYNC = new PushEvent("resync", List.of());
+
+        private final String name;
+        private final Object data;
+
+        PushEvent(String name, Object data) {
+            this.name = name;
+            this.data = data;
+        }
+
+        SseEmitter.SseEventBuilder toSse() {
+            if (name == null) {
+                return SseEmitter.event().comment("heartbeat");
+            }
+            return SseEmitter.event().name(name).data(data);
+        }
+    }
+}
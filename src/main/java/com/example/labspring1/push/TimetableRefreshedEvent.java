@@ -0,0 +1,20 @@
+package com.example.labspring1.push;
+
+public class TimetableRefreshedEvent {
+
+    private final String groupNumber;
+    private final long fetchedAt;
+
+    public TimetableRefreshedEvent(String groupNumber, long fetchedAt) {
+        this.groupNumber = groupNumber;
+        this.fetchedAt = fetchedAt;
+    }
+
+    public String getGroupNumber() {
+        return groupNumber;
+    }
+
+    public long getFetchedAt() {
+        return fetchedAt;
+    }
+}
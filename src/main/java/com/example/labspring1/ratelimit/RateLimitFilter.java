@@ -0,0 +1,136 @@
+package com.example.labspring1.ratelimit;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Token buckets per client and route. A client is its configured {@code X-API-Key}, or its address when the
+ * key is missing or unknown, so random keys cannot mint fresh buckets. Behind a trusted proxy the address is
+ * the forwarded client address, which Tomcat's remote IP valve has already applied. Routes are the method and path with
+ * id-like segments collapsed; once {@code rate-limit.max-buckets} is reached, new buckets fall back to the
+ * route class (upstream or db) so junk paths cannot grow the map without bound.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final String API_KEY_HEADER = "X-API-Key";
+    private static final String UPSTREAM_PATH = "/api/schedules/api";
+
+    private final boolean enabled;
+    private final int upstreamCapacity;
+    private final double upstreamRefillPerSecond;
+    private final int dbCapacity;
+    private final double dbRefillPerSecond;
+    private final Semaphore upstreamAdmission;
+    private final Set<String> apiKeys;
+    private final int maxBuckets;
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+
+    public RateLimitFilter(@Value("${rate-limit.enabled:true}") boolean enabled,
+                           @Value("${rate-limit.upstream.capacity:10}") int upstreamCapacity,
+                           @Value("${rate-limit.upstream.refill-per-second:2}") double upstreamRefillPerSecond,
+                           @Value("${rate-limit.upstream.max-concurrent:64}") int upstreamMaxConcurrent,
+                           @Value("${rate-limit.db.capacity:100}") int dbCapacity,
+                           @Value("${rate-limit.db.refill-per-second:50}") double dbRefillPerSecond,
+                           @Value("${rate-limit.api-keys:}") String[] apiKeys,
+                           @Value("${rate-limit.max-buckets:100000}") int maxBuckets) {
+        this.enabled = enabled;
+        this.upstreamCapacity = upstreamCapacity;
+        this.upstreamRefillPerSecond = upstreamRefillPerSecond;
+        this.dbCapacity = dbCapacity;
+        this.dbRefillPerSecond = dbRefillPerSecond;
+        this.upstreamAdmission = new Semaphore(upstreamMaxConcurrent);
+        this.apiKeys = Set.copyOf(Arrays.stream(apiKeys).map(String::trim).filter(key -> !key.isEmpty()).toList());
+        this.maxBuckets = maxBuckets;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        boolean upstream = request.getRequestURI().startsWith(UPSTREAM_PATH);
+        String key = clientKey(request) + '|' + routeKey(request, upstream);
+        long now = System.nanoTime();
+        TokenBucket bucket = buckets.computeIfAbsent(key, k -> upstream
+                ? new TokenBucket(upstreamCapacity, upstreamRefillPerSecond, now)
+                : new TokenBucket(dbCapacity, dbRefillPerSecond, now));
+
+        long waitNanos = bucket.tryAcquire(now);
+        if (waitNanos > 0) {
+            reject(response, waitNanos);
+            return;
+        }
+        if (!upstream) {
+            chain.doFilter(request, response);
+            return;
+        }
+        if (!upstreamAdmission.tryAcquire()) {
+            reject(response, 1_000_000_000L);
+            return;
+        }
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            upstreamAdmission.release();
+        }
+    }
+
+    @Scheduled(fixedDelay = 60_000)
+    public void evictIdleBuckets() {
+        long now = System.nanoTime();
+        buckets.values().removeIf(bucket -> bucket.isFull(now));
+    }
+
+    private String clientKey(HttpServletRequest request) {
+        String apiKey = request.getHeader(API_KEY_HEADER);
+        return apiKey != null && apiKeys.contains(apiKey) ? "key:" + apiKey : "ip:" + request.getRemoteAddr();
+    }
+
+    private String routeKey(HttpServletRequest request, boolean upstream) {
+        if (buckets.size() >= maxBuckets) {
+            return upstream ? "upstream" : "db";
+        }
+        return request.getMethod() + ' ' + route(request.getRequestURI());
+    }
+
+    static String route(String uri) {
+        StringBuilder sb = new StringBuilder(uri.length());
+        for (String segment : uri.split("/")) {
+            if (segment.isEmpty()) {
+                continue;
+            }
+            sb.append('/').append(segment.chars().anyMatch(Character::isDigit) ? "{id}" : segment);
+        }
+        return sb.toString();
+    }
+
+    private void reject(HttpServletResponse response, long waitNanos) throws IOException {
+        long retryAfterSeconds = Math.max(1, (waitNanos + 999_999_999L) / 1_000_000_000L);
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType("text/plain");
+        response.getWriter().write("Too many requests");
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.labspring1.repository;
+
+import com.example.labspring1.model.ChangeLogEntry;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+public interface ChangeLogRepository extends JpaRepository<ChangeLogEntry, Long> {
+
+    List<ChangeLogEntry> findByIdGreaterThanAndIdLessThanEqualOrderByIdAsc(Long after, Long upTo, Pageable pageable);
+
+    @Query("SELECT MIN(c.id) FROM ChangeLogEntry c")
+    Long findMinId();
+
+    @Query("SELECT MAX(c.id) FROM ChangeLogEntry c")
+    Long findMaxId();
+
+    @Query("SELECT MIN(c.id) FROM ChangeLogEntry c WHERE c.changedAt > :cutoff")
+    Long findMinIdChangedAfter(@Param("cutoff") Instant cutoff);
+
+    @Modifying
+    @Query("INSERT INTO ChangeLogEntry (entityType, entityId, operation, changedAt) "
+            + "SELECT :entityType, s.id, :operation, :changedAt FROM Schedule s WHERE s.group.id IN :groupIds")
+    int insertForSchedulesOfGroups(@Param("entityType") ChangeLogEntry.EntityType entityType,
+                                   @Param("operation") ChangeLogEntry.Operation operation,
+                                   @Param("groupIds") Collection<Long> groupIds,
+                                   @Param("changedAt") Instant changedAt);
+
+    @Modifying
+    @Query("DELETE FROM ChangeLogEntry c WHERE c.changedAt < :cutoff AND c.id < :keepFrom")
+    int deleteOlderThan(@Param("cutoff") Instant cutoff, @Param("keepFrom") Long keepFrom);
+}
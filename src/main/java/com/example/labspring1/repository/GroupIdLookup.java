@@ -0,0 +1,11 @@
+package com.example.labspring1.repository;
+
+import java.util.Optional;
+
+public interface GroupIdLookup {
+
+    /**
+     * Resolves a group number to its id through the natural-id cache; a cache hit issues no SQL.
+     */
+    Optional<Long> findIdByGroupNumber(String groupNumber);
+}
@@ -0,0 +1,25 @@
+package com.example.labspring1.repository;
+
+import com.example.labspring1.model.Group;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+class GroupIdLookupImpl implements GroupIdLookup {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Long> findIdByGroupNumber(String groupNumber) {
+        Session session = entityManager.unwrap(Session.class);
+        Group reference = session.bySimpleNaturalId(Group.class)
+                .setSynchronizationEnabled(false)
+                .getReference(groupNumber);
+        return Optional.ofNullable(reference).map(group -> (Long) session.getIdentifier(group));
+    }
+}
@@ -3,11 +3,46 @@ package com.example.labspring1.repository;
 import com.example.labspring1.model.Group;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
-public interface GroupRepository extends JpaRepository<Group, Long> {
+public interface GroupRepository extends JpaRepository<Group, Long>, GroupIdLookup {
 
     @EntityGraph(attributePaths = {"schedules"})
     Optional<Group> findByGroupNumber(String groupNumber);
-}
\ No newline at end of file
+
+    @EntityGraph(attributePaths = {"schedules"})
+    @Query("SELECT g FROM Group g")
+    List<Group> findAllWithSchedules();
+
+    @Query("SELECT g.id AS id, g.groupNumber AS groupNumber, g.version AS version FROM Group g")
+    List<GroupSummary> findAllSummaries();
+
+    @Query("SELECT g.id AS id, g.groupNumber AS groupNumber, g.version AS version FROM Group g WHERE g.id IN :ids")
+    List<GroupSummary> findSummariesByIds(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT g.id AS id, g.groupNumber AS groupNumber, g.version AS version FROM Group g WHERE g.id = :id")
+    Optional<GroupSummary> findSummaryById(@Param("id") Long id);
+
+    @Query("SELECT g.id AS id, g.groupNumber AS groupNumber, g.version AS version FROM Group g "
+            + "WHERE g.groupNumber = :groupNumber")
+    Optional<GroupSummary> findSummaryByGroupNumber(@Param("groupNumber") String groupNumber);
+
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Group g SET g.groupNumber = COALESCE(:groupNumber, g.groupNumber), g.version = g.version + 1 "
+            + "WHERE g.id = :id AND g.version = :version")
+    int patch(@Param("id") Long id, @Param("version") Long version, @Param("groupNumber") String groupNumber);
+
+    @Modifying(clearAutomatically = true)
+    @Query("DELETE FROM Group g WHERE g.id = :id")
+    int deleteOneById(@Param("id") Long id);
+
+    @Modifying(clearAutomatically = true)
+    @Query("DELETE FROM Group g WHERE g.id IN :ids")
+    int deleteAllByIds(@Param("ids") Collection<Long> ids);
+}
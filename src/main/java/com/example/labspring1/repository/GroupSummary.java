@@ -0,0 +1,10 @@
+package com.example.labspring1.repository;
+
+public interface GroupSummary {
+
+    Long getId();
+
+    String getGroupNumber();
+
+    Long getVersion();
+}
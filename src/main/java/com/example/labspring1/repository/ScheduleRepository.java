@@ -1,10 +1,13 @@
 package com.example.labspring1.repository;
 
+import com.example.labspring1.model.Group;
 import com.example.labspring1.model.Schedule;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface ScheduleRepository extends JpaRepository<Schedule, Long> {
@@ -12,4 +15,33 @@ public interface ScheduleRepository extends JpaRepository<Schedule, Long> {
 
     @Query("SELECT s FROM Schedule s WHERE s.group.groupNumber = :groupNumber AND s.time LIKE %:date%")
     List<Schedule> findByGroupNumberAndDate(@Param("groupNumber") String groupNumber, @Param("date") String date);
-}
\ No newline at end of file
+
+    @Query("SELECT DISTINCT s.group.id FROM Schedule s WHERE s.id IN :ids")
+    List<Long> findGroupIdsByIds(@Param("ids") Collection<Long> ids);
+
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Schedule s SET s.subject = COALESCE(:subject, s.subject), "
+            + "s.lessonType = COALESCE(:lessonType, s.lessonType), s.time = COALESCE(:time, s.time), "
+            + "s.auditorium = COALESCE(:auditorium, s.auditorium), s.version = s.version + 1 "
+            + "WHERE s.id = :id AND s.version = :version")
+    int patch(@Param("id") Long id, @Param("version") Long version, @Param("subject") String subject,
+              @Param("lessonType") String lessonType, @Param("time") String time,
+              @Param("auditorium") String auditorium);
+
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Schedule s SET s.subject = COALESCE(:subject, s.subject), "
+            + "s.lessonType = COALESCE(:lessonType, s.lessonType), s.time = COALESCE(:time, s.time), "
+            + "s.auditorium = COALESCE(:auditorium, s.auditorium), s.group = :group, s.version = s.version + 1 "
+            + "WHERE s.id = :id AND s.version = :version")
+    int patchWithGroup(@Param("id") Long id, @Param("version") Long version, @Param("subject") String subject,
+                       @Param("lessonType") String lessonType, @Param("time") String time,
+                       @Param("auditorium") String auditorium, @Param("group") Group group);
+
+    @Modifying(clearAutomatically = true)
+    @Query("DELETE FROM Schedule s WHERE s.id = :id")
+    int deleteOneById(@Param("id") Long id);
+
+    @Modifying(clearAutomatically = true)
+    @Query("DELETE FROM Schedule s WHERE s.id IN :ids")
+    int deleteAllByIds(@Param("ids") Collection<Long> ids);
+}
@@ -0,0 +1,153 @@
+package com.example.labspring1.service;
+
+import com.example.labspring1.dto.ChangesDto;
+import com.example.labspring1.dto.GroupDto;
+import com.example.labspring1.dto.ScheduleDto;
+import com.example.labspring1.model.ChangeLogEntry;
+import com.example.labspring1.repository.ChangeLogRepository;
+import com.example.labspring1.repository.GroupRepository;
+import com.example.labspring1.repository.GroupSummary;
+import com.example.labspring1.repository.ScheduleRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Answers {@code /api/changes?since=<token>}. The token is the id of the last change log entry the client saw;
+ * it never passes {@link ChangeLogService#committedToken()}, so a slower transaction that commits a smaller id
+ * later is still delivered. Groups are returned without schedules; schedule changes are reported separately.
+ */
+@Service
+public class ChangeFeedService {
+
+    private final ChangeLogRepository changeLogRepository;
+    private final ChangeLogService changeLogService;
+    private final GroupRepository groupRepository;
+    private final ScheduleRepository scheduleRepository;
+    private final ScheduleService scheduleService;
+    private final RequestCounter requestCounter;
+    private final int pageSize;
+
+    public ChangeFeedService(ChangeLogRepository changeLogRepository, ChangeLogService changeLogService,
+                             GroupRepository groupRepository, ScheduleRepository scheduleRepository, ScheduleService scheduleService,
+                             RequestCounter requestCounter, @Value("${changes.page-size:500}") int pageSize) {
+        this.changeLogRepository = changeLogRepository;
+        this.changeLogService = changeLogService;
+        this.groupRepository = groupRepository;
+        this.scheduleRepository = scheduleRepository;
+        this.scheduleService = scheduleService;
+        this.requestCounter = requestCounter;
+        this.pageSize = pageSize;
+    }
+
+    /**
+     * Runs on the primary: a replica behind by more than the commit lag would compute a token past entries
+     * it has not replayed yet, and the client would never see them.
+     */
+    @Transactional
+    public ChangesDto changesSince(Long since) {
+        requestCounter.increment();
+        Long minId = changeLogRepository.findMinId();
+        Long maxId = changeLogRepository.findMaxId();
+        long committed = changeLogService.committedToken();
+        if (since == null || since > (maxId == null ? 0 : maxId) || (minId != null && since < minId - 1)) {
+            return resync(committed);
+        }
+
+        List<ChangeLogEntry> entries = since >= committed ? List.of()
+                : changeLogRepository.findByIdGreaterThanAndIdLessThanEqualOrderByIdAsc(
+                        since, committed, PageRequest.of(0, pageSize + 1));
+        ChangesDto changes = new ChangesDto();
+        changes.setHasMore(entries.size() > pageSize);
+        if (changes.isHasMore()) {
+            entries = entries.subList(0, pageSize);
+        }
+        changes.setToken(entries.isEmpty() ? since : entries.get(entries.size() - 1).getId());
+
+        Map<Long, ChangeLogEntry.Operation> groups = collapse(entries, ChangeLogEntry.EntityType.GROUP);
+        Map<Long, ChangeLogEntry.Operation> schedules = collapse(entries, ChangeLogEntry.EntityType.SCHEDULE);
+        changes.setDeletedGroupIds(idsWith(groups, ChangeLogEntry.Operation.DELETED));
+        changes.setDeletedScheduleIds(idsWith(schedules, ChangeLogEntry.Operation.DELETED));
+
+        List<Long> upsertedGroups = groups.entrySet().stream()
+                .filter(entry -> entry.getValue() != ChangeLogEntry.Operation.DELETED)
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toList());
+        if (!upsertedGroups.isEmpty()) {
+            for (GroupSummary summary : groupRepository.findSummariesByIds(upsertedGroups)) {
+                GroupDto dto = toDto(summary);
+                (groups.get(summary.getId()) == ChangeLogEntry.Operation.CREATED
+                        ? changes.getCreatedGroups() : changes.getUpdatedGroups()).add(dto);
+            }
+        }
+        List<Long> upsertedSchedules = schedules.entrySet().stream()
+                .filter(entry -> entry.getValue() != ChangeLogEntry.Operation.DELETED)
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toList());
+        if (!upsertedSchedules.isEmpty()) {
+            scheduleRepository.findAllById(upsertedSchedules).forEach(schedule -> {
+                ScheduleDto dto = scheduleService.convertToDto(schedule);
+                (schedules.get(schedule.getId()) == ChangeLogEntry.Operation.CREATED
+                        ? changes.getCreatedSchedules() : changes.getUpdatedSchedules()).add(dto);
+            });
+        }
+        return changes;
+    }
+
+    private ChangesDto resync(long token) {
+        ChangesDto changes = new ChangesDto();
+        changes.setResync(true);
+        changes.setToken(token);
+        changes.setCreatedGroups(groupRepository.findAllSummaries().stream()
+                .map(this::toDto)
+                .collect(Collectors.toList()));
+        changes.setCreatedSchedules(scheduleRepository.findAll().stream()
+                .map(scheduleService::convertToDto)
+                .collect(Collectors.toList()));
+        return changes;
+    }
+
+    /**
+     * Reduces the window to one operation per record: created-then-deleted records vanish, a create followed by
+     * updates stays a create, and anything ending in a delete is a delete.
+     */
+    private static Map<Long, ChangeLogEntry.Operation> collapse(List<ChangeLogEntry> entries,
+                                                                ChangeLogEntry.EntityType type) {
+        Map<Long, ChangeLogEntry.Operation> result = new LinkedHashMap<>();
+        for (ChangeLogEntry entry : entries) {
+            if (entry.getEntityType() != type) {
+                continue;
+            }
+            ChangeLogEntry.Operation previous = result.get(entry.getEntityId());
+            if (entry.getOperation() == ChangeLogEntry.Operation.DELETED) {
+                if (previous == ChangeLogEntry.Operation.CREATED) {
+                    result.remove(entry.getEntityId());
+                } else {
+                    result.put(entry.getEntityId(), ChangeLogEntry.Operation.DELETED);
+                }
+            } else if (previous != ChangeLogEntry.Operation.CREATED) {
+                result.put(entry.getEntityId(), entry.getOperation());
+            }
+        }
+        return result;
+    }
+
+    private static List<Long> idsWith(Map<Long, ChangeLogEntry.Operation> changes, ChangeLogEntry.Operation operation) {
+        return changes.entrySet().stream()
+                .filter(entry -> entry.getValue() == operation)
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toList());
+    }
+
+    private GroupDto toDto(GroupSummary summary) {
+        GroupDto dto = new GroupDto(summary.getId(), summary.getGroupNumber(), null);
+        dto.setVersion(summary.getVersion());
+        return dto;
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.labspring1.service;
+
+import com.example.labspring1.model.ChangeLogEntry;
+import com.example.labspring1.repository.ChangeLogRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Records group and schedule writes in the {@code change_log} table, inside the writing transaction.
+ */
+@Service
+public class ChangeLogService {
+    private static final Logger logger = LoggerFactory.getLogger(ChangeLogService.class);
+    private static final int INSERT_BATCH_SIZE = 1000;
+    private static final String INSERT_SQL =
+            "INSERT INTO change_log (entity_type, entity_id, operation, changed_at) VALUES (?, ?, ?, ?)";
+
+    private final ChangeLogRepository changeLogRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final Duration retention;
+    private final Duration commitLag;
+
+    public ChangeLogService(ChangeLogRepository changeLogRepository, JdbcTemplate jdbcTemplate,
+                            @Value("${changes.retention-hours:168}") long retentionHours,
+                            @Value("${changes.commit-lag-ms:5000}") long commitLagMillis) {
+        this.changeLogRepository = changeLogRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.retention = Duration.ofHours(retentionHours);
+        this.commitLag = Duration.ofMillis(commitLagMillis);
+    }
+
+    /**
+     * The highest id up to which every entry is committed. Ids are assigned at insert, not at commit, so an
+     * entry may become visible after a larger one; readers stop before the oldest entry of the last
+     * {@code changes.commit-lag-ms}, within which the writing transaction is expected to commit. Read on the
+     * primary, where that lag is measured.
+     */
+    @Transactional
+    public long committedToken() {
+        Long recent = changeLogRepository.findMinIdChangedAfter(Instant.now().minus(commitLag));
+        if (recent != null) {
+            return recent - 1;
+        }
+        Long maxId = changeLogRepository.findMaxId();
+        return maxId == null ? 0 : maxId;
+    }
+
+    @Transactional
+    public void record(ChangeLogEntry.EntityType entityType, ChangeLogEntry.Operation operation, Long id) {
+        changeLogRepository.save(new ChangeLogEntry(entityType, id, operation, Instant.now()));
+    }
+
+    /**
+     * One JDBC batch instead of {@code saveAll}: Hibernate inserts IDENTITY rows one statement at a time.
+     * Ids stay database-assigned at insert, which {@link #committedToken()} relies on across nodes.
+     */
+    @Transactional
+    public void record(ChangeLogEntry.EntityType entityType, ChangeLogEntry.Operation operation,
+                       Collection<Long> ids) {
+        OffsetDateTime now = OffsetDateTime.ofInstant(Instant.now(), ZoneOffset.UTC);
+        jdbcTemplate.batchUpdate(INSERT_SQL, ids, INSERT_BATCH_SIZE, (statement, id) -> {
+            statement.setString(1, entityType.name());
+            statement.setLong(2, id);
+            statement.setString(3, operation.name());
+            statement.setObject(4, now);
+        });
+    }
+
+    /**
+     * Records every schedule of the given groups in one {@code INSERT ... SELECT}; call it before the groups
+     * are deleted, while the cascade has not removed the schedules yet.
+     */
+    @Transactional
+    public int recordSchedulesOfGroups(ChangeLogEntry.Operation operation, Collection<Long> groupIds) {
+        return changeLogRepository.insertForSchedulesOfGroups(ChangeLogEntry.EntityType.SCHEDULE, operation,
+                groupIds, Instant.now());
+    }
+
+    /**
+     * Every entry after {@code token}, read on the primary, or {@code null} when they cannot all be listed:
+     * some were pruned, or there are more than {@code limit}.
+     */
+    @Transactional
+    public List<ChangeLogEntry> entriesAfter(long token, int limit) {
+        Long minId = changeLogRepository.findMinId();
+        if (minId == null ? token > 0 : minId > token + 1) {
+            return null;
+        }
+        List<ChangeLogEntry> entries = changeLogRepository.findByIdGreaterThanAndIdLessThanEqualOrderByIdAsc(
+                token, Long.MAX_VALUE, PageRequest.of(0, limit + 1));
+        return entries.size() > limit ? null : entries;
+    }
+
+    @Scheduled(cron = "${changes.retention-cron:0 30 3 * * *}")
+    @Transactional
+    public void prune() {
+        Long maxId = changeLogRepository.findMaxId();
+        if (maxId == null) {
+            return;
+        }
+        int deleted = changeLogRepository.deleteOlderThan(Instant.now().minus(retention), maxId);
+        logger.info("Pruned change log: deleted={}", deleted);
+    }
+}
@@ -1,12 +1,18 @@
 package com.example.labspring1.service;
 
 import com.example.labspring1.cache.CacheManager;
+import com.example.labspring1.cache.ExistenceFilter;
 import com.example.labspring1.dto.GroupDto;
+import com.example.labspring1.dto.GroupPatchDto;
+import com.example.labspring1.dto.GroupShape;
 import com.example.labspring1.dto.ScheduleDto;
+import com.example.labspring1.exception.NotFoundException;
+import com.example.labspring1.exception.VersionConflictException;
+import com.example.labspring1.invalidation.CacheInvalidator;
+import com.example.labspring1.model.ChangeLogEntry;
 import com.example.labspring1.model.Group;
 import com.example.labspring1.model.Schedule;
 import com.example.labspring1.repository.GroupRepository;
-import jakarta.persistence.EntityNotFoundException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -16,14 +22,24 @@ import java.util.stream.Collectors;
 @Service
 public class GroupService {
 
+    private static final int DELETE_BATCH_SIZE = 1000;
+
     private final GroupRepository groupRepository;
     private final CacheManager cacheManager;
     private final RequestCounter requestCounter;
+    private final CacheInvalidator cacheInvalidator;
+    private final ChangeLogService changeLogService;
+    private final PrimaryLookup primaryLookup;
 
-    public GroupService(GroupRepository groupRepository, CacheManager cacheManager, RequestCounter requestCounter) {
+    public GroupService(GroupRepository groupRepository, CacheManager cacheManager, RequestCounter requestCounter,
+                        CacheInvalidator cacheInvalidator,
+                        ChangeLogService changeLogService, PrimaryLookup primaryLookup) {
         this.groupRepository = groupRepository;
         this.cacheManager = cacheManager;
         this.requestCounter = requestCounter;
+        this.cacheInvalidator = cacheInvalidator;
+        this.changeLogService = changeLogService;
+        this.primaryLookup = primaryLookup;
     }
 
     @Transactional(readOnly = true)
@@ -47,9 +63,16 @@ public class GroupService {
         if (cacheManager.containsGroupKey(id)) {
             return cacheManager.getGroup(id);
         }
+        if (cacheManager.isGroupMissing(id)) {
+            throw new NotFoundException("Group not found with id: " + id);
+        }
 
-        Group group = groupRepository.findById(id)
-                .orElseThrow(() -> new EntityNotFoundException("Group not found with id: " + id));
+        Group group = groupRepository.findById(id).orElseThrow(() -> {
+            if (primaryLookup.isGroupMissing(id)) {
+                cacheManager.putMissingGroup(id);
+            }
+            return new NotFoundException("Group not found with id: " + id);
+        });
         GroupDto result = convertToDto(group);
         cacheManager.putGroup(id, result);
         return result;
@@ -62,15 +85,98 @@ public class GroupService {
         if (cacheManager.containsGroupListKey(cacheKey)) {
             return cacheManager.getGroupList(cacheKey).get(0);
         }
+        if (cacheManager.isGroupNumberMissing(groupNumber)) {
+            throw new NotFoundException("Group not found with number: " + groupNumber);
+        }
 
-        Group group = groupRepository.findByGroupNumber(groupNumber)
-                .orElseThrow(() -> new EntityNotFoundException("Group not found with number: " + groupNumber));
+        Group group = groupRepository.findByGroupNumber(groupNumber).orElseThrow(() -> {
+            if (primaryLookup.isGroupNumberMissing(groupNumber)) {
+                cacheManager.putMissingGroupNumber(groupNumber);
+            }
+            return new NotFoundException("Group not found with number: " + groupNumber);
+        });
         GroupDto result = convertToDto(group);
         cacheManager.putGroupList(cacheKey, List.of(result));
         cacheManager.putGroup(group.getId(), result);
         return result;
     }
 
+    @Transactional(readOnly = true)
+    public List<GroupDto> findAll(GroupShape shape) {
+        if (shape.isFull()) {
+            return findAll();
+        }
+        requestCounter.increment();
+        String cacheKey = "findAll:" + shape.key();
+        if (cacheManager.containsGroupShapeKey(cacheKey)) {
+            return cacheManager.getGroupShape(cacheKey);
+        }
+
+        List<GroupDto> result = shape.includesSchedules()
+                ? groupRepository.findAllWithSchedules().stream()
+                        .map(group -> shape.project(convertToDto(group)))
+                        .collect(Collectors.toList())
+                : groupRepository.findAllSummaries().stream()
+                        .map(summary -> shape.project(summary.getId(), summary.getGroupNumber(),
+                                summary.getVersion(), null))
+                        .collect(Collectors.toList());
+        cacheManager.putGroupShape(cacheKey, result);
+        return result;
+    }
+
+    @Transactional(readOnly = true)
+    public GroupDto findById(Long id, GroupShape shape) {
+        if (shape.isFull() || shape.includesSchedules()) {
+            return shape.project(findById(id));
+        }
+        requestCounter.increment();
+        String cacheKey = "findById:" + id + ":" + shape.key();
+        if (cacheManager.containsGroupShapeKey(cacheKey)) {
+            return cacheManager.getGroupShape(cacheKey).get(0);
+        }
+
+        GroupDto cached = cacheManager.getGroup(id);
+        if (cached == null && cacheManager.isGroupMissing(id)) {
+            throw new NotFoundException("Group not found with id: " + id);
+        }
+        GroupDto result = cached != null ? shape.project(cached) : groupRepository.findSummaryById(id)
+                .map(summary -> shape.project(summary.getId(), summary.getGroupNumber(), summary.getVersion(), null))
+                .orElseThrow(() -> {
+                    if (primaryLookup.isGroupMissing(id)) {
+                        cacheManager.putMissingGroup(id);
+                    }
+                    return new NotFoundException("Group not found with id: " + id);
+                });
+        cacheManager.putGroupShape(cacheKey, List.of(result));
+        return result;
+    }
+
+    @Transactional(readOnly = true)
+    public GroupDto findByGroupNumber(String groupNumber, GroupShape shape) {
+        if (shape.isFull() || shape.includesSchedules()) {
+            return shape.project(findByGroupNumber(groupNumber));
+        }
+        requestCounter.increment();
+        String cacheKey = "findByGroupNumber:" + groupNumber + ":" + shape.key();
+        if (cacheManager.containsGroupShapeKey(cacheKey)) {
+            return cacheManager.getGroupShape(cacheKey).get(0);
+        }
+        if (cacheManager.isGroupNumberMissing(groupNumber)) {
+            throw new NotFoundException("Group not found with number: " + groupNumber);
+        }
+
+        GroupDto result = groupRepository.findSummaryByGroupNumber(groupNumber)
+                .map(summary -> shape.project(summary.getId(), summary.getGroupNumber(), summary.getVersion(), null))
+                .orElseThrow(() -> {
+                    if (primaryLookup.isGroupNumberMissing(groupNumber)) {
+                        cacheManager.putMissingGroupNumber(groupNumber);
+                    }
+                    return new NotFoundException("Group not found with number: " + groupNumber);
+                });
+        cacheManager.putGroupShape(cacheKey, List.of(result));
+        return result;
+    }
+
     @Transactional
     public GroupDto create(GroupDto groupDto) {
         requestCounter.increment();
@@ -79,6 +185,9 @@ public class GroupService {
         Group savedGroup = groupRepository.save(group);
         GroupDto result = convertToDto(savedGroup);
         cacheManager.clearGroupCache();
+        cacheManager.markGroupExists(result.getId(), result.getGroupNumber());
+        cacheInvalidator.groupChanged(result.getId());
+        changeLogService.record(ChangeLogEntry.EntityType.GROUP, ChangeLogEntry.Operation.CREATED, result.getId());
         return result;
     }
 
@@ -86,22 +195,84 @@ public class GroupService {
     public GroupDto update(Long id, GroupDto groupDto) {
         requestCounter.increment();
         Group group = groupRepository.findById(id)
-                .orElseThrow(() -> new EntityNotFoundException("Group not found with id: " + id));
+                .orElseThrow(() -> new NotFoundException("Group not found with id: " + id));
+        if (groupDto.getVersion() != null && !groupDto.getVersion().equals(group.getVersion())) {
+            throw new VersionConflictException("Group " + id + " was modified by another request");
+        }
         group.setGroupNumber(groupDto.getGroupNumber());
         Group updatedGroup = groupRepository.save(group);
         GroupDto result = convertToDto(updatedGroup);
         cacheManager.clearGroupCache();
+        cacheManager.markGroupExists(id, result.getGroupNumber());
+        cacheInvalidator.groupChanged(id);
+        changeLogService.record(ChangeLogEntry.EntityType.GROUP, ChangeLogEntry.Operation.UPDATED, id);
         return result;
     }
 
+    @Transactional
+    public long patch(Long id, GroupPatchDto patch) {
+        requestCounter.increment();
+        if (groupRepository.patch(id, patch.getVersion(), patch.getGroupNumber()) == 0) {
+            if (!groupRepository.existsById(id)) {
+                throw new NotFoundException("Group not found with id: " + id);
+            }
+            throw new VersionConflictException("Group " + id + " was modified by another request");
+        }
+        long version = patch.getVersion() + 1;
+        GroupDto cached = cacheManager.getGroup(id);
+        if (cached != null && patch.getVersion().equals(cached.getVersion())) {
+            String groupNumber = patch.getGroupNumber() != null ? patch.getGroupNumber() : cached.getGroupNumber();
+            GroupDto updated = new GroupDto(id, groupNumber, cached.getSchedules());
+            updated.setVersion(version);
+            cacheManager.removeGroupList("findByGroupNumber:" + cached.getGroupNumber());
+            cacheManager.replaceGroup(updated);
+        } else {
+            cacheManager.removeGroup(id);
+            cacheManager.evictGroupListsContaining(id);
+        }
+        cacheManager.clearGroupShapes();
+        cacheManager.markGroupExists(id, patch.getGroupNumber());
+        cacheInvalidator.groupChanged(id);
+        changeLogService.record(ChangeLogEntry.EntityType.GROUP, ChangeLogEntry.Operation.UPDATED, id);
+        return version;
+    }
+
+    /**
+     * The database cascades the delete to the group's schedules; they are recorded as deleted first, so
+     * delta-sync clients drop them.
+     */
     @Transactional
     public void delete(Long id) {
         requestCounter.increment();
-        if (!groupRepository.existsById(id)) {
-            throw new EntityNotFoundException("Group not found with id: " + id);
+        changeLogService.recordSchedulesOfGroups(ChangeLogEntry.Operation.DELETED, List.of(id));
+        if (groupRepository.deleteOneById(id) == 0) {
+            throw new NotFoundException("Group not found with id: " + id);
         }
-        groupRepository.deleteById(id);
         cacheManager.clearGroupCache();
+        cacheManager.clearScheduleCache();
+        cacheInvalidator.groupChanged(id);
+        cacheInvalidator.schedulesChanged(List.of());
+        changeLogService.record(ChangeLogEntry.EntityType.GROUP, ChangeLogEntry.Operation.DELETED, id);
+    }
+
+    @Transactional
+    public int deleteBulk(List<Long> ids) {
+        requestCounter.increment();
+        List<Long> distinct = ids.stream().distinct().collect(Collectors.toList());
+        int deleted = 0;
+        for (int i = 0; i < distinct.size(); i += DELETE_BATCH_SIZE) {
+            List<Long> batch = distinct.subList(i, Math.min(distinct.size(), i + DELETE_BATCH_SIZE));
+            changeLogService.recordSchedulesOfGroups(ChangeLogEntry.Operation.DELETED, batch);
+            deleted += groupRepository.deleteAllByIds(batch);
+        }
+        if (deleted > 0) {
+            cacheManager.clearGroupCache();
+            cacheManager.clearScheduleCache();
+            cacheInvalidator.groupsChanged(distinct);
+            cacheInvalidator.schedulesChanged(List.of());
+            changeLogService.record(ChangeLogEntry.EntityType.GROUP, ChangeLogEntry.Operation.DELETED, distinct);
+        }
+        return deleted;
     }
 
     @Transactional
@@ -124,8 +295,13 @@ public class GroupService {
         result.forEach(dto -> {
             cacheManager.putGroup(dto.getId(), dto);
             cacheManager.putGroupList("findByGroupNumber:" + dto.getGroupNumber(), List.of(dto));
+            cacheManager.markGroupExists(dto.getId(), dto.getGroupNumber());
         });
         cacheManager.putGroupList("findAll", findAll());
+        cacheManager.clearGroupShapes();
+        List<Long> ids = result.stream().map(GroupDto::getId).collect(Collectors.toList());
+        cacheInvalidator.groupsChanged(ids);
+        changeLogService.record(ChangeLogEntry.EntityType.GROUP, ChangeLogEntry.Operation.CREATED, ids);
         return result;
     }
 
@@ -135,7 +311,7 @@ public class GroupService {
         List<Group> groups = groupDtos.stream()
                 .map(dto -> {
                     Group group = groupRepository.findById(dto.getId())
-                            .orElseThrow(() -> new EntityNotFoundException("Group not found with id: " + dto.getId()));
+                            .orElseThrow(() -> new NotFoundException("Group not found with id: " + dto.getId()));
                     group.setGroupNumber(dto.getGroupNumber());
                     return group;
                 })
@@ -150,20 +326,58 @@ public class GroupService {
         result.forEach(dto -> {
             cacheManager.putGroup(dto.getId(), dto);
             cacheManager.putGroupList("findByGroupNumber:" + dto.getGroupNumber(), List.of(dto));
+            cacheManager.markGroupExists(dto.getId(), dto.getGroupNumber());
         });
         cacheManager.putGroupList("findAll", findAll());
+        cacheManager.clearGroupShapes();
+        List<Long> ids = result.stream().map(GroupDto::getId).collect(Collectors.toList());
+        cacheInvalidator.groupsChanged(ids);
+        changeLogService.record(ChangeLogEntry.EntityType.GROUP, ChangeLogEntry.Operation.UPDATED, ids);
         return result;
     }
 
-    private GroupDto convertToDto(Group group) {
+    /**
+     * Reads from the primary: the snapshot rebuilds the existence filter, and rows a lagging replica has not
+     * replayed yet would be rejected until the next rebuild.
+     */
+    @Transactional
+    public List<String> warmCache() {
+        ExistenceFilter existence = cacheManager.existence();
+        existence.beginRebuild();
+        List<GroupDto> result;
+        try {
+            result = groupRepository.findAllWithSchedules().stream()
+                    .map(this::convertToDto)
+                    .collect(Collectors.toList());
+        } catch (RuntimeException e) {
+            existence.abortRebuild();
+            throw e;
+        }
+        existence.finishRebuild(
+                result.stream().collect(Collectors.toMap(GroupDto::getId, GroupDto::getGroupNumber)),
+                result.stream().flatMap(dto -> dto.getSchedules().stream()).map(ScheduleDto::getId)
+                        .collect(Collectors.toList()));
+        result.forEach(dto -> {
+            cacheManager.putGroup(dto.getId(), dto);
+            cacheManager.putGroupList("findByGroupNumber:" + dto.getGroupNumber(), List.of(dto));
+        });
+        cacheManager.putGroupList("findAll", result);
+        return result.stream()
+                .map(GroupDto::getGroupNumber)
+                .collect(Collectors.toList());
+    }
+
+    GroupDto convertToDto(Group group) {
         List<ScheduleDto> scheduleDtos = group.getSchedules().stream()
                 .map(this::convertToScheduleDto)
                 .collect(Collectors.toList());
-        return new GroupDto(group.getId(), group.getGroupNumber(), scheduleDtos);
+        GroupDto groupDto = new GroupDto(group.getId(), group.getGroupNumber(), scheduleDtos);
+        groupDto.setVersion(group.getVersion());
+        return groupDto;
     }
 
     private ScheduleDto convertToScheduleDto(Schedule schedule) {
-        return new ScheduleDto(
+        ScheduleDto scheduleDto = new ScheduleDto(
                 schedule.getId(),
                 schedule.getSubject(),
                 schedule.getLessonType(),
@@ -171,5 +385,7 @@ public class GroupService {
                 schedule.getAuditorium(),
                 schedule.getGroup().getId()
         );
+        scheduleDto.setVersion(schedule.getVersion());
+        return scheduleDto;
     }
 }
\ No newline at end of file
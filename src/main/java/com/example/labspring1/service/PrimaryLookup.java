@@ -0,0 +1,51 @@
+package com.example.labspring1.service;
+
+import com.example.labspring1.repository.GroupRepository;
+import com.example.labspring1.repository.ScheduleRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.function.Supplier;
+
+/**
+ * Re-checks a miss on the primary before it is remembered as missing. Read-only transactions go to the
+ * replica, which may not have replayed a row the primary already committed; caching that miss would hide
+ * the row for the whole negative-cache TTL. Without a replica the miss already came from the primary.
+ */
+@Service
+public class PrimaryLookup {
+
+    private final GroupRepository groupRepository;
+    private final ScheduleRepository scheduleRepository;
+    private final TransactionTemplate primary;
+    private final boolean replicaEnabled;
+
+    public PrimaryLookup(GroupRepository groupRepository, ScheduleRepository scheduleRepository,
+                         PlatformTransactionManager transactionManager,
+                         @Value("${app.datasource.replica.enabled:false}") boolean replicaEnabled) {
+        this.groupRepository = groupRepository;
+        this.scheduleRepository = scheduleRepository;
+        this.primary = new TransactionTemplate(transactionManager);
+        this.primary.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.replicaEnabled = replicaEnabled;
+    }
+
+    public boolean isGroupMissing(Long id) {
+        return isMissing(() -> groupRepository.existsById(id));
+    }
+
+    public boolean isGroupNumberMissing(String groupNumber) {
+        return isMissing(() -> groupRepository.findSummaryByGroupNumber(groupNumber).isPresent());
+    }
+
+    public boolean isScheduleMissing(Long id) {
+        return isMissing(() -> scheduleRepository.existsById(id));
+    }
+
+    private boolean isMissing(Supplier<Boolean> existsOnPrimary) {
+        return !replicaEnabled || !Boolean.TRUE.equals(primary.execute(status -> existsOnPrimary.get()));
+    }
+}
@@ -1,63 +1,72 @@
 package com.example.labspring1.service;
 
 import com.example.labspring1.cache.CacheManager;
+import com.example.labspring1.calendar.CompiledLesson;
+import com.example.labspring1.calendar.Timetable;
 import com.example.labspring1.dto.ScheduleDto;
+import com.example.labspring1.dto.SchedulePatchDto;
+import com.example.labspring1.exception.NotFoundException;
+import com.example.labspring1.exception.VersionConflictException;
+import com.example.labspring1.invalidation.CacheInvalidator;
+import com.example.labspring1.model.ChangeLogEntry;
 import com.example.labspring1.model.Group;
 import com.example.labspring1.model.Schedule;
+import com.example.labspring1.push.ScheduleChangedEvent;
 import com.example.labspring1.repository.GroupRepository;
 import com.example.labspring1.repository.ScheduleRepository;
-import com.example.labspring1.service.RequestCounter;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import jakarta.persistence.EntityNotFoundException;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.client.RestTemplate;
 
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
-import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
 public class ScheduleService {
 
-    private static final String BSUIR_API_URL = "https://iis.bsuir.by/api/v1/schedule?studentGroup=%s";
-    private static final Map<String, String> DAY_OF_WEEK_MAP = Map.of(
-            "monday", "Понедельник",
-            "tuesday", "Вторник",
-            "wednesday", "Среда",
-            "thursday", "Четверг",
-            "friday", "Пятница",
-            "saturday", "Суббота",
-            "sunday", "Воскресенье"
-    );
+    private static final int DELETE_BATCH_SIZE = 1000;
 
     private final GroupRepository groupRepository;
     private final ScheduleRepository scheduleRepository;
-    private final RestTemplate restTemplate;
-    private final ObjectMapper objectMapper;
+    private final TimetableService timetableService;
     private final CacheManager cacheManager;
     private final RequestCounter requestCounter;
+    private final CacheInvalidator cacheInvalidator;
+    private final ChangeLogService changeLogService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PrimaryLookup primaryLookup;
 
     public ScheduleService(GroupRepository groupRepository, ScheduleRepository scheduleRepository,
-                           CacheManager cacheManager, RequestCounter requestCounter) {
+                           TimetableService timetableService, CacheManager cacheManager,
+                           RequestCounter requestCounter, CacheInvalidator cacheInvalidator,
+                           ChangeLogService changeLogService, ApplicationEventPublisher eventPublisher,
+                           PrimaryLookup primaryLookup) {
         this.groupRepository = groupRepository;
         this.scheduleRepository = scheduleRepository;
-        this.restTemplate = new RestTemplate();
-        this.objectMapper = new ObjectMapper();
+        this.timetableService = timetableService;
         this.cacheManager = cacheManager;
         this.requestCounter = requestCounter;
+        this.cacheInvalidator = cacheInvalidator;
+        this.changeLogService = changeLogService;
+        this.eventPublisher = eventPublisher;
+        this.primaryLookup = primaryLookup;
     }
 
     @Transactional(readOnly = true)
     public List<ScheduleDto> findByGroupNumberAndDate(String groupNumber, String date) {
         requestCounter.increment();
         String cacheKey = "findByGroupNumberAndDate:" + groupNumber + ":" + date;
-        if (cacheManager.containsScheduleListKey(cacheKey)) {
-            return cacheManager.getScheduleList(cacheKey);
+        List<ScheduleDto> cached = cacheManager.getScheduleList(cacheKey);
+        if (cached != null) {
+            return cached;
         }
 
         List<Schedule> schedules = scheduleRepository.findByGroupNumberAndDate(groupNumber, date);
@@ -68,68 +77,49 @@ public class ScheduleService {
         return result;
     }
 
-    @Transactional(readOnly = true)
     public List<ScheduleDto> getSchedule(String groupNumber, String date) {
         requestCounter.increment();
-        String cacheKey = "getSchedule:" + groupNumber + ":" + date;
-        if (cacheManager.containsScheduleListKey(cacheKey)) {
-            return cacheManager.getScheduleList(cacheKey);
+        if (cacheManager.isGroupNumberMissing(groupNumber)) {
+            throw new NotFoundException("Group not found with number: " + groupNumber);
         }
-
-        Group group = groupRepository.findByGroupNumber(groupNumber)
-                .orElseThrow(() -> new EntityNotFoundException("Group not found with number: " + groupNumber));
-
-        try {
-            String url = String.format(BSUIR_API_URL, groupNumber);
-            String jsonResponse = restTemplate.getForObject(url, String.class);
-            Map<String, Object> jsonMap = objectMapper.readValue(jsonResponse, Map.class);
-            Map<String, List<Map<String, Object>>> schedules = (Map<String, List<Map<String, Object>>>) jsonMap.get("schedules");
-
-            if (schedules == null || schedules.isEmpty()) {
-                return Collections.emptyList();
+        Long groupId = groupRepository.findIdByGroupNumber(groupNumber).orElseThrow(() -> {
+            if (primaryLookup.isGroupNumberMissing(groupNumber)) {
+                cacheManager.putMissingGroupNumber(groupNumber);
             }
-
-            LocalDate targetDate = LocalDate.parse(date, DateTimeFormatter.ISO_LOCAL_DATE);
-            String targetDayOfWeek = DAY_OF_WEEK_MAP.get(targetDate.getDayOfWeek().toString().toLowerCase());
-
-            List<ScheduleDto> scheduleDtos = new ArrayList<>();
-            List<Map<String, Object>> lessons = schedules.get(targetDayOfWeek);
-            if (lessons != null) {
-                for (Map<String, Object> lesson : lessons) {
-                    String startLessonDate = (String) lesson.get("startLessonDate");
-                    String endLessonDate = (String) lesson.get("endLessonDate");
-                    String dateLesson = (String) lesson.get("dateLesson");
-                    List<Integer> weekNumber = (List<Integer>) lesson.get("weekNumber");
-
-                    if (!isLessonInDateRange(targetDate, startLessonDate, endLessonDate, dateLesson, weekNumber)) {
-                        continue;
-                    }
-
-                    ScheduleDto scheduleDto = new ScheduleDto();
-                    scheduleDto.setSubject((String) lesson.get("subjectFullName"));
-                    scheduleDto.setLessonType((String) lesson.get("lessonTypeAbbrev"));
-                    scheduleDto.setTime(lesson.get("startLessonTime") + "-" + lesson.get("endLessonTime"));
-                    scheduleDto.setAuditorium(getAuditoryValue(lesson));
-                    scheduleDto.setGroupId(group.getId());
-                    scheduleDto.setGroupNumber(groupNumber);
-                    scheduleDto.setDate(date);
-                    scheduleDtos.add(scheduleDto);
-                }
+            return new NotFoundException("Group not found with number: " + groupNumber);
+        });
+
+        Timetable timetable = timetableService.getTimetable(groupNumber);
+        Boolean stale = timetableService.isStale(timetable) ? Boolean.TRUE : null;
+        LocalDate targetDate = LocalDate.parse(date, DateTimeFormatter.ISO_LOCAL_DATE);
+        int dayIndex = timetable.dayIndex(targetDate);
+
+        List<ScheduleDto> scheduleDtos = new ArrayList<>();
+        for (CompiledLesson lesson : timetable.lessonsFor(targetDate.getDayOfWeek())) {
+            if (!lesson.occursOn(dayIndex)) {
+                continue;
             }
-
-            cacheManager.putScheduleList(cacheKey, scheduleDtos);
-            return scheduleDtos;
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to fetch schedule from API: " + e.getMessage(), e);
+            ScheduleDto scheduleDto = new ScheduleDto();
+            scheduleDto.setSubject(lesson.getSubject());
+            scheduleDto.setLessonType(lesson.getLessonType());
+            scheduleDto.setTime(lesson.getTime());
+            scheduleDto.setAuditorium(lesson.getAuditorium());
+            scheduleDto.setGroupId(groupId);
+            scheduleDto.setGroupNumber(groupNumber);
+            scheduleDto.setDate(date);
+            scheduleDto.setStale(stale);
+            scheduleDtos.add(scheduleDto);
         }
+        return scheduleDtos;
     }
 
     @Transactional(readOnly = true)
     public List<ScheduleDto> findAll() {
         requestCounter.increment();
         String cacheKey = "findAll";
-        if (cacheManager.containsScheduleListKey(cacheKey)) {
-            return cacheManager.getScheduleList(cacheKey);
+        List<ScheduleDto> cached = cacheManager.getScheduleList(cacheKey);
+        if (cached != null) {
+            return cached;
         }
 
         List<ScheduleDto> result = scheduleRepository.findAll().stream()
@@ -145,9 +135,16 @@ public class ScheduleService {
         if (cacheManager.containsScheduleKey(id)) {
             return cacheManager.getSchedule(id);
         }
+        if (cacheManager.isScheduleMissing(id)) {
+            throw new NotFoundException("Schedule not found with id: " + id);
+        }
 
-        Schedule schedule = scheduleRepository.findById(id)
-                .orElseThrow(() -> new EntityNotFoundException("Schedule not found with id: " + id));
+        Schedule schedule = scheduleRepository.findById(id).orElseThrow(() -> {
+            if (primaryLookup.isScheduleMissing(id)) {
+                cacheManager.putMissingSchedule(id);
+            }
+            return new NotFoundException("Schedule not found with id: " + id);
+        });
         ScheduleDto result = convertToDto(schedule);
         cacheManager.putSchedule(id, result);
         return result;
@@ -157,8 +154,9 @@ public class ScheduleService {
     public List<ScheduleDto> findByGroupId(Long groupId) {
         requestCounter.increment();
         String cacheKey = "findByGroupId:" + groupId;
-        if (cacheManager.containsScheduleListKey(cacheKey)) {
-            return cacheManager.getScheduleList(cacheKey);
+        List<ScheduleDto> cached = cacheManager.getScheduleList(cacheKey);
+        if (cached != null) {
+            return cached;
         }
 
         List<ScheduleDto> result = scheduleRepository.findByGroupId(groupId).stream()
@@ -172,7 +170,7 @@ public class ScheduleService {
     public ScheduleDto create(ScheduleDto scheduleDto) {
         requestCounter.increment();
         Group group = groupRepository.findById(scheduleDto.getGroupId())
-                .orElseThrow(() -> new EntityNotFoundException("Group not found with id: " + scheduleDto.getGroupId()));
+                .orElseThrow(() -> new NotFoundException("Group not found with id: " + scheduleDto.getGroupId()));
         Schedule schedule = new Schedule();
         schedule.setSubject(scheduleDto.getSubject());
         schedule.setLessonType(scheduleDto.getLessonType());
@@ -182,6 +180,10 @@ public class ScheduleService {
         Schedule savedSchedule = scheduleRepository.save(schedule);
         ScheduleDto result = convertToDto(savedSchedule);
         cacheManager.clearScheduleCache();
+        cacheManager.markSchedulesExist(List.of(result.getId()));
+        cacheInvalidator.scheduleChanged(result.getId());
+        changeLogService.record(ChangeLogEntry.EntityType.SCHEDULE, ChangeLogEntry.Operation.CREATED, result.getId());
+        publishChange(List.of(result.getGroupId()), List.of(result.getId()), ChangeLogEntry.Operation.CREATED);
         return result;
     }
 
@@ -189,9 +191,13 @@ public class ScheduleService {
     public ScheduleDto update(Long id, ScheduleDto scheduleDto) {
         requestCounter.increment();
         Schedule schedule = scheduleRepository.findById(id)
-                .orElseThrow(() -> new EntityNotFoundException("Schedule not found with id: " + id));
+                .orElseThrow(() -> new NotFoundException("Schedule not found with id: " + id));
+        if (scheduleDto.getVersion() != null && !scheduleDto.getVersion().equals(schedule.getVersion())) {
+            throw new VersionConflictException("Schedule " + id + " was modified by another request");
+        }
         Group group = groupRepository.findById(scheduleDto.getGroupId())
-                .orElseThrow(() -> new EntityNotFoundException("Group not found with id: " + scheduleDto.getGroupId()));
+                .orElseThrow(() -> new NotFoundException("Group not found with id: " + scheduleDto.getGroupId()));
+        Long previousGroupId = schedule.getGroup().getId();
         schedule.setSubject(scheduleDto.getSubject());
         schedule.setLessonType(scheduleDto.getLessonType());
         schedule.setTime(scheduleDto.getTime());
@@ -200,17 +206,98 @@ public class ScheduleService {
         Schedule updatedSchedule = scheduleRepository.save(schedule);
         ScheduleDto result = convertToDto(updatedSchedule);
         cacheManager.clearScheduleCache();
+        cacheInvalidator.scheduleChanged(id);
+        changeLogService.record(ChangeLogEntry.EntityType.SCHEDULE, ChangeLogEntry.Operation.UPDATED, id);
+        publishChange(Arrays.asList(previousGroupId, group.getId()), List.of(id), ChangeLogEntry.Operation.UPDATED);
         return result;
     }
 
+    @Transactional
+    public long patch(Long id, SchedulePatchDto patch) {
+        requestCounter.increment();
+        ScheduleDto cached = cacheManager.getSchedule(id);
+        List<Long> groupIds = new ArrayList<>(cached != null ? List.of(cached.getGroupId())
+                : scheduleRepository.findGroupIdsByIds(List.of(id)));
+        int updated;
+        if (patch.getGroupId() != null) {
+            try {
+                updated = scheduleRepository.patchWithGroup(id, patch.getVersion(), patch.getSubject(),
+                        patch.getLessonType(), patch.getTime(), patch.getAuditorium(),
+                        groupRepository.getReferenceById(patch.getGroupId()));
+            } catch (DataIntegrityViolationException e) {
+                throw new NotFoundException("Group not found with id: " + patch.getGroupId());
+            }
+        } else {
+            updated = scheduleRepository.patch(id, patch.getVersion(), patch.getSubject(),
+                    patch.getLessonType(), patch.getTime(), patch.getAuditorium());
+        }
+        if (updated == 0) {
+            if (!scheduleRepository.existsById(id)) {
+                throw new NotFoundException("Schedule not found with id: " + id);
+            }
+            throw new VersionConflictException("Schedule " + id + " was modified by another request");
+        }
+
+        long version = patch.getVersion() + 1;
+        if (cached != null && patch.getVersion().equals(cached.getVersion())
+                && (patch.getGroupId() == null || patch.getGroupId().equals(cached.getGroupId()))) {
+            ScheduleDto result = new ScheduleDto(id,
+                    patch.getSubject() != null ? patch.getSubject() : cached.getSubject(),
+                    patch.getLessonType() != null ? patch.getLessonType() : cached.getLessonType(),
+                    patch.getTime() != null ? patch.getTime() : cached.getTime(),
+                    patch.getAuditorium() != null ? patch.getAuditorium() : cached.getAuditorium(),
+                    cached.getGroupId());
+            result.setVersion(version);
+            cacheManager.replaceSchedule(result);
+        } else {
+            cacheManager.removeSchedule(id);
+            cacheManager.evictScheduleListsContaining(id);
+            if (patch.getGroupId() != null) {
+                cacheManager.removeScheduleList("findByGroupId:" + patch.getGroupId());
+            }
+        }
+        cacheInvalidator.scheduleChanged(id);
+        changeLogService.record(ChangeLogEntry.EntityType.SCHEDULE, ChangeLogEntry.Operation.UPDATED, id);
+        if (patch.getGroupId() != null && !groupIds.contains(patch.getGroupId())) {
+            groupIds.add(patch.getGroupId());
+        }
+        publishChange(groupIds, List.of(id), ChangeLogEntry.Operation.UPDATED);
+        return version;
+    }
+
     @Transactional
     public void delete(Long id) {
         requestCounter.increment();
-        if (!scheduleRepository.existsById(id)) {
-            throw new EntityNotFoundException("Schedule not found with id: " + id);
+        ScheduleDto cached = cacheManager.getSchedule(id);
+        List<Long> groupIds = cached != null ? List.of(cached.getGroupId())
+                : scheduleRepository.findGroupIdsByIds(List.of(id));
+        if (scheduleRepository.deleteOneById(id) == 0) {
+            throw new NotFoundException("Schedule not found with id: " + id);
         }
-        scheduleRepository.deleteById(id);
         cacheManager.clearScheduleCache();
+        cacheInvalidator.scheduleChanged(id);
+        changeLogService.record(ChangeLogEntry.EntityType.SCHEDULE, ChangeLogEntry.Operation.DELETED, id);
+        publishChange(groupIds, List.of(id), ChangeLogEntry.Operation.DELETED);
+    }
+
+    @Transactional
+    public int deleteBulk(List<Long> ids) {
+        requestCounter.increment();
+        List<Long> distinct = ids.stream().distinct().collect(Collectors.toList());
+        Set<Long> groupIds = new HashSet<>();
+        int deleted = 0;
+        for (int i = 0; i < distinct.size(); i += DELETE_BATCH_SIZE) {
+            List<Long> batch = distinct.subList(i, Math.min(distinct.size(), i + DELETE_BATCH_SIZE));
+            groupIds.addAll(scheduleRepository.findGroupIdsByIds(batch));
+            deleted += scheduleRepository.deleteAllByIds(batch);
+        }
+        if (deleted > 0) {
+            cacheManager.clearScheduleCache();
+            cacheInvalidator.schedulesChanged(distinct);
+            changeLogService.record(ChangeLogEntry.EntityType.SCHEDULE, ChangeLogEntry.Operation.DELETED, distinct);
+            publishChange(groupIds, distinct, ChangeLogEntry.Operation.DELETED);
+        }
+        return deleted;
     }
 
     @Transactional
@@ -219,7 +306,7 @@ public class ScheduleService {
         List<Schedule> schedules = scheduleDtos.stream()
                 .map(dto -> {
                     Group group = groupRepository.findById(dto.getGroupId())
-                            .orElseThrow(() -> new EntityNotFoundException("Group not found with id: " + dto.getGroupId()));
+                            .orElseThrow(() -> new NotFoundException("Group not found with id: " + dto.getGroupId()));
                     Schedule schedule = new Schedule();
                     schedule.setSubject(dto.getSubject());
                     schedule.setLessonType(dto.getLessonType());
@@ -238,18 +325,25 @@ public class ScheduleService {
 
         result.forEach(dto -> cacheManager.putSchedule(dto.getId(), dto));
         cacheManager.putScheduleList("findAll", findAll());
+        List<Long> ids = result.stream().map(ScheduleDto::getId).collect(Collectors.toList());
+        cacheManager.markSchedulesExist(ids);
+        cacheInvalidator.schedulesChanged(ids);
+        changeLogService.record(ChangeLogEntry.EntityType.SCHEDULE, ChangeLogEntry.Operation.CREATED, ids);
+        publishChange(groupIdsOf(result), ids, ChangeLogEntry.Operation.CREATED);
         return result;
     }
 
     @Transactional
     public List<ScheduleDto> updateBulk(List<ScheduleDto> scheduleDtos) {
         requestCounter.increment();
+        Set<Long> affectedGroupIds = new HashSet<>();
         List<Schedule> schedules = scheduleDtos.stream()
                 .map(dto -> {
                     Schedule schedule = scheduleRepository.findById(dto.getId())
-                            .orElseThrow(() -> new EntityNotFoundException("Schedule not found with id: " + dto.getId()));
+                            .orElseThrow(() -> new NotFoundException("Schedule not found with id: " + dto.getId()));
                     Group group = groupRepository.findById(dto.getGroupId())
-                            .orElseThrow(() -> new EntityNotFoundException("Group not found with id: " + dto.getGroupId()));
+                            .orElseThrow(() -> new NotFoundException("Group not found with id: " + dto.getGroupId()));
+                    affectedGroupIds.add(schedule.getGroup().getId());
                     schedule.setSubject(dto.getSubject());
                     schedule.setLessonType(dto.getLessonType());
                     schedule.setTime(dto.getTime());
@@ -267,11 +361,25 @@ public class ScheduleService {
 
         result.forEach(dto -> cacheManager.putSchedule(dto.getId(), dto));
         cacheManager.putScheduleList("findAll", findAll());
+        List<Long> ids = result.stream().map(ScheduleDto::getId).collect(Collectors.toList());
+        cacheInvalidator.schedulesChanged(ids);
+        changeLogService.record(ChangeLogEntry.EntityType.SCHEDULE, ChangeLogEntry.Operation.UPDATED, ids);
+        affectedGroupIds.addAll(groupIdsOf(result));
+        publishChange(affectedGroupIds, ids, ChangeLogEntry.Operation.UPDATED);
         return result;
     }
 
-    private ScheduleDto convertToDto(Schedule schedule) {
-        return new ScheduleDto(
+    private void publishChange(Collection<Long> groupIds, Collection<Long> scheduleIds,
+                               ChangeLogEntry.Operation operation) {
+        eventPublisher.publishEvent(new ScheduleChangedEvent(groupIds, scheduleIds, operation.name()));
+    }
+
+    private static Set<Long> groupIdsOf(List<ScheduleDto> schedules) {
+        return schedules.stream().map(ScheduleDto::getGroupId).collect(Collectors.toSet());
+    }
+
+    ScheduleDto convertToDto(Schedule schedule) {
+        ScheduleDto scheduleDto = new ScheduleDto(
                 schedule.getId(),
                 schedule.getSubject(),
                 schedule.getLessonType(),
@@ -279,40 +387,7 @@ public class ScheduleService {
                 schedule.getAuditorium(),
                 schedule.getGroup().getId()
         );
-    }
-
-    private String getAuditoryValue(Map<String, Object> lesson) {
-        List<String> auditories = (List<String>) lesson.get("auditories");
-        return auditories != null && !auditories.isEmpty() ? auditories.get(0) : "";
-    }
-
-    private boolean isLessonInDateRange(LocalDate targetDate, String startLessonDate, String endLessonDate, String dateLesson, List<Integer> weekNumber) {
-        try {
-            DateTimeFormatter formatter = DateTimeFormatter.ofPattern("dd.MM.yyyy");
-
-            if (weekNumber != null && !weekNumber.isEmpty()) {
-                LocalDate startOfSemester = LocalDate.parse("09.02.2025", formatter);
-                long daysSinceStart = startOfSemester.until(targetDate).getDays();
-                int targetWeek = (int) (daysSinceStart / 7) + 1;
-                if (!weekNumber.contains(targetWeek)) {
-                    return false;
-                }
-            }
-
-            if (dateLesson != null && !dateLesson.isEmpty()) {
-                LocalDate lessonDate = LocalDate.parse(dateLesson, formatter);
-                return lessonDate.equals(targetDate);
-            }
-
-            if (startLessonDate != null && !startLessonDate.isEmpty() && endLessonDate != null && !endLessonDate.isEmpty()) {
-                LocalDate start = LocalDate.parse(startLessonDate, formatter);
-                LocalDate end = LocalDate.parse(endLessonDate, formatter);
-                return !targetDate.isBefore(start) && !targetDate.isAfter(end);
-            }
-
-            return true;
-        } catch (Exception e) {
-            return true;
-        }
+        scheduleDto.setVersion(schedule.getVersion());
+        return scheduleDto;
     }
 }
\ No newline at end of file
@@ -0,0 +1,123 @@
+package com.example.labspring1.service;
+
+import com.example.labspring1.cache.CacheManager;
+import com.example.labspring1.calendar.LessonCalendar;
+import com.example.labspring1.calendar.Timetable;
+import com.example.labspring1.client.BsuirClient;
+import com.example.labspring1.config.UpstreamExecutor;
+import com.example.labspring1.exception.InvalidRequestException;
+import com.example.labspring1.exception.NotFoundException;
+import com.example.labspring1.exception.UpstreamUnavailableException;
+import com.example.labspring1.push.TimetableRefreshedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpClientErrorException;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Serves compiled timetables with stale-while-revalidate: an expired timetable is returned at once
+ * and refreshed in the background, so BSUIR incidents never add latency once a group has been seen.
+ */
+@Service
+public class TimetableService {
+    private static final Logger logger = LoggerFactory.getLogger(TimetableService.class);
+
+    private final BsuirClient bsuirClient;
+    private final LessonCalendar lessonCalendar;
+    private final CacheManager cacheManager;
+    private final UpstreamExecutor upstreamExecutor;
+    private final long ttlMillis;
+    private final long maxStaleMillis;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Map<String, Boolean> refreshing = new ConcurrentHashMap<>();
+    private final Map<String, Integer> payloadHashes = new ConcurrentHashMap<>();
+
+    public TimetableService(BsuirClient bsuirClient, LessonCalendar lessonCalendar, CacheManager cacheManager,
+                            UpstreamExecutor upstreamExecutor, ApplicationEventPublisher eventPublisher,
+                            @Value("${bsuir.timetable.ttl-minutes:60}") long ttlMinutes,
+                            @Value("${bsuir.timetable.max-stale-minutes:10080}") long maxStaleMinutes) {
+        this.bsuirClient = bsuirClient;
+        this.lessonCalendar = lessonCalendar;
+        this.cacheManager = cacheManager;
+        this.upstreamExecutor = upstreamExecutor;
+        this.eventPublisher = eventPublisher;
+        this.ttlMillis = ttlMinutes * 60_000;
+        this.maxStaleMillis = maxStaleMinutes * 60_000;
+    }
+
+    public Timetable getTimetable(String groupNumber) {
+        Timetable cached = cacheManager.getTimetable(groupNumber);
+        if (cached == null) {
+            return fetch(groupNumber);
+        }
+        long age = System.currentTimeMillis() - cached.getFetchedAt();
+        if (age < ttlMillis) {
+            return cached;
+        }
+        if (age < maxStaleMillis) {
+            refreshAsync(groupNumber);
+            return cached;
+        }
+        try {
+            return fetch(groupNumber);
+        } catch (UpstreamUnavailableException e) {
+            logger.warn("Serving {} min old timetable for group {}: {}", age / 60_000, groupNumber, e.getMessage());
+            return cached;
+        }
+    }
+
+    public boolean isStale(Timetable timetable) {
+        return System.currentTimeMillis() - timetable.getFetchedAt() >= ttlMillis;
+    }
+
+    public Timetable refresh(String groupNumber) {
+        return fetch(groupNumber);
+    }
+
+    private Timetable fetch(String groupNumber) {
+        try {
+            Map<String, Object> payload = bsuirClient.fetchSchedule(groupNumber);
+            Timetable timetable = lessonCalendar.compile(groupNumber, payload);
+            cacheManager.putTimetable(groupNumber, timetable);
+            int hash = payload.hashCode();
+            Integer previousHash = payloadHashes.put(groupNumber, hash);
+            if (previousHash == null || previousHash != hash) {
+                eventPublisher.publishEvent(new TimetableRefreshedEvent(groupNumber, timetable.getFetchedAt()));
+            }
+            return timetable;
+        } catch (UpstreamUnavailableException e) {
+            throw e;
+        } catch (HttpClientErrorException.NotFound e) {
+            throw new NotFoundException("Group not found in BSUIR API: " + groupNumber);
+        } catch (HttpClientErrorException e) {
+            throw new InvalidRequestException("BSUIR API rejected group " + groupNumber + ": " + e.getStatusCode());
+        } catch (Exception e) {
+            throw new UpstreamUnavailableException("Failed to fetch schedule from API: " + e.getMessage(), e);
+        }
+    }
+
+    private void refreshAsync(String groupNumber) {
+        if (refreshing.putIfAbsent(groupNumber, Boolean.TRUE) != null) {
+            return;
+        }
+        try {
+            upstreamExecutor.execute(() -> {
+                try {
+                    fetch(groupNumber);
+                } catch (RuntimeException e) {
+                    logger.debug("Background refresh for group {} failed: {}", groupNumber, e.getMessage());
+                } finally {
+                    refreshing.remove(groupNumber);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            refreshing.remove(groupNumber);
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.labspring1.timing;
+
+/**
+ * Time a single request spent per layer, held in a thread local for the duration of the request. Work
+ * outside a timed request (background refreshes, warm-up, scheduled jobs) finds no current timing and
+ * is not recorded.
+ */
+public final class RequestTiming {
+
+    public enum Phase {
+        DB("db", "statements"), CACHE("cache", "calls"), UPSTREAM("upstream", "calls");
+
+        private final String metric;
+        private final String unit;
+
+        Phase(String metric, String unit) {
+            this.metric = metric;
+            this.unit = unit;
+        }
+    }
+
+    private static final ThreadLocal<RequestTiming> CURRENT = new ThreadLocal<>();
+    private static final Phase[] PHASES = Phase.values();
+
+    private final long startNanos;
+    private final long[] nanos = new long[PHASES.length];
+    private final int[] counts = new int[PHASES.length];
+    private long bodyWriteNanos;
+    private long endNanos;
+
+    RequestTiming(long startNanos) {
+        this.startNanos = startNanos;
+    }
+
+    static RequestTiming begin() {
+        RequestTiming timing = new RequestTiming(System.nanoTime());
+        CURRENT.set(timing);
+        return timing;
+    }
+
+    static void clear() {
+        CURRENT.remove();
+    }
+
+    public static RequestTiming current() {
+        return CURRENT.get();
+    }
+
+    public void add(Phase phase, long elapsedNanos) {
+        add(phase, elapsedNanos, 1);
+    }
+
+    public void add(Phase phase, long elapsedNanos, int count) {
+        nanos[phase.ordinal()] += elapsedNanos;
+        counts[phase.ordinal()] += count;
+    }
+
+    /**
+     * Marks the end of the handler: what follows is response serialization.
+     */
+    void bodyWriteStarted(long now) {
+        if (bodyWriteNanos == 0) {
+            bodyWriteNanos = now;
+        }
+    }
+
+    void finish(long now) {
+        endNanos = now;
+    }
+
+    long totalNanos() {
+        return endNanos - startNanos;
+    }
+
+    /**
+     * The {@code Server-Timing} header value: one metric per layer that was used, then {@code app} for
+     * the whole handler. Once the request has finished, {@code json} (serialization) and {@code total}
+     * are added.
+     */
+    String header() {
+        StringBuilder sb = new StringBuilder(128);
+        for (Phase phase : PHASES) {
+            int i = phase.ordinal();
+            if (nanos[i] > 0) {
+                metric(sb, phase.metric, nanos[i]).append(";desc=\"").append(counts[i]).append(' ')
+                        .append(phase.unit).append('"');
+            }
+        }
+        long handlerEnd = bodyWriteNanos != 0 ? bodyWriteNanos : endNanos != 0 ? endNanos : System.nanoTime();
+        metric(sb, "app", handlerEnd - startNanos);
+        if (endNanos != 0) {
+            if (bodyWriteNanos != 0) {
+                metric(sb, "json", endNanos - bodyWriteNanos);
+            }
+            metric(sb, "total", endNanos - startNanos);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Key-value pairs for the slow-request log, in the format {@code LoggingAspect} uses.
+     */
+    String describe() {
+        StringBuilder sb = new StringBuilder(128);
+        for (Phase phase : PHASES) {
+            int i = phase.ordinal();
+            appendMillis(sb.append(phase.metric).append("Ms="), nanos[i]).append(' ')
+                    .append(phase.metric).append("Count=").append(counts[i]).append(' ');
+        }
+        long handlerEnd = bodyWriteNanos != 0 ? bodyWriteNanos : endNanos;
+        appendMillis(sb.append("appMs="), handlerEnd - startNanos);
+        appendMillis(sb.append(" jsonMs="), bodyWriteNanos != 0 ? endNanos - bodyWriteNanos : 0);
+        return sb.toString();
+    }
+
+    private static StringBuilder metric(StringBuilder sb, String name, long elapsedNanos) {
+        if (!sb.isEmpty()) {
+            sb.append(", ");
+        }
+        return appendMillis(sb.append(name).append(";dur="), elapsedNanos);
+    }
+
+    private static StringBuilder appendMillis(StringBuilder sb, long elapsedNanos) {
+        long tenths = (elapsedNanos + 50_000) / 100_000;
+        return sb.append(tenths / 10).append('.').append(tenths % 10);
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.labspring1.timing;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Times every API request. {@link ServerTimingAdvice} sends the {@code Server-Timing} header just before
+ * the body is written. If the response is still uncommitted afterwards (the body fit the buffer) the header
+ * is replaced with one that includes serialization and the total. Requests slower than
+ * {@code server-timing.slow-threshold-ms} are logged with the full breakdown.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ServerTimingFilter extends OncePerRequestFilter {
+    static final String SERVER_TIMING = "Server-Timing";
+    private static final Logger logger = LoggerFactory.getLogger(ServerTimingFilter.class);
+
+    private final boolean enabled;
+    private final long slowThresholdNanos;
+
+    public ServerTimingFilter(@Value("${server-timing.enabled:true}") boolean enabled,
+                              @Value("${server-timing.slow-threshold-ms:1000}") long slowThresholdMs) {
+        this.enabled = enabled;
+        this.slowThresholdNanos = slowThresholdMs * 1_000_000;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        RequestTiming timing = RequestTiming.begin();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            RequestTiming.clear();
+            timing.finish(System.nanoTime());
+            if (!response.isCommitted()) {
+                response.setHeader(SERVER_TIMING, timing.header());
+            }
+            if (timing.totalNanos() >= slowThresholdNanos && logger.isWarnEnabled()) {
+                logger.warn("request={} {} status={} durationMs={} outcome=slow {}", request.getMethod(),
+                        request.getRequestURI(), response.getStatus(), timing.totalNanos() / 1_000_000,
+                        timing.describe());
+            }
+        }
+    }
+}
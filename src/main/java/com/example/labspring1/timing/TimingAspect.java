@@ -0,0 +1,38 @@
+package com.example.labspring1.timing;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+/**
+ * Attributes {@code CacheManager} and BSUIR client time to the current request. Outside a timed request
+ * the advice only checks the thread local.
+ */
+@Aspect
+@Component
+public class TimingAspect {
+
+    @Around("execution(public * com.example.labspring1.cache.CacheManager.*(..))")
+    public Object timeCache(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(joinPoint, RequestTiming.Phase.CACHE);
+    }
+
+    @Around("execution(* com.example.labspring1.client.BsuirClient.fetchSchedule(..))")
+    public Object timeUpstream(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(joinPoint, RequestTiming.Phase.UPSTREAM);
+    }
+
+    private static Object time(ProceedingJoinPoint joinPoint, RequestTiming.Phase phase) throws Throwable {
+        RequestTiming timing = RequestTiming.current();
+        if (timing == null) {
+            return joinPoint.proceed();
+        }
+        long start = System.nanoTime();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            timing.add(phase, System.nanoTime() - start);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.labspring1.timing;
+
+import org.hibernate.SessionEventListener;
+
+/**
+ * Attributes JDBC time (connection acquisition, statement preparation and execution) to the current
+ * request. Hibernate creates one instance per session, registered through
+ * {@code hibernate.session.events.auto}, so it also sees lazy loads and flushes at commit.
+ * <p>
+ * Events can nest (Hibernate acquires the connection inside the first statement preparation), so each kind
+ * keeps its own start, and time spent acquiring a connection is not counted again by the enclosing prepare.
+ */
+public class TimingSessionEventListener implements SessionEventListener {
+
+    private long acquisitionStart;
+    private long prepareStart;
+    private long executeStart;
+    private long batchStart;
+
+    @Override
+    public void jdbcConnectionAcquisitionStart() {
+        acquisitionStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcConnectionAcquisitionEnd() {
+        long elapsed = addElapsed(acquisitionStart, false);
+        if (prepareStart != 0) {
+            prepareStart += elapsed;
+        }
+    }
+
+    @Override
+    public void jdbcPrepareStatementStart() {
+        prepareStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcPrepareStatementEnd() {
+        addElapsed(prepareStart, false);
+        prepareStart = 0;
+    }
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        executeStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        addElapsed(executeStart, true);
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        batchStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        addElapsed(batchStart, true);
+    }
+
+    private static long addElapsed(long start, boolean statement) {
+        long elapsed = System.nanoTime() - start;
+        RequestTiming timing = RequestTiming.current();
+        if (timing != null) {
+            timing.add(RequestTiming.Phase.DB, elapsed, statement ? 1 : 0);
+        }
+        return elapsed;
+    }
+}
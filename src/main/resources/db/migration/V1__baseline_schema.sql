@@ -0,0 +1,17 @@
+-- Schema as it stood before versioned migrations: groups and their schedules. Databases created earlier
+-- by ddl-auto=update already have exactly this and are baselined at this version; V2 onwards apply to both.
+
+CREATE TABLE groups (
+    id           BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    group_number VARCHAR(255) NOT NULL UNIQUE
+);
+
+CREATE TABLE schedules (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    subject     VARCHAR(255) NOT NULL,
+    lesson_type VARCHAR(255),
+    time        VARCHAR(255),
+    auditorium  VARCHAR(255),
+    group_id    BIGINT       NOT NULL,
+    CONSTRAINT fk_schedules_group FOREIGN KEY (group_id) REFERENCES groups (id)
+);
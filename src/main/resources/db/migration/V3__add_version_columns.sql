@@ -0,0 +1,4 @@
+-- Optimistic locking (@Version on Group and Schedule). Existing rows start at version 0.
+
+ALTER TABLE groups ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE schedules ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,12 @@
+-- Change feed (ChangeLogService). Feed tokens stop at the oldest entry younger than the commit lag
+-- (ChangeLogService.committedToken), and pruning deletes by age; both look entries up by changed_at.
+
+CREATE TABLE IF NOT EXISTS change_log (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    entity_type VARCHAR(16)                 NOT NULL CHECK (entity_type IN ('GROUP', 'SCHEDULE')),
+    entity_id   BIGINT                      NOT NULL,
+    operation   VARCHAR(16)                 NOT NULL CHECK (operation IN ('CREATED', 'UPDATED', 'DELETED')),
+    changed_at  TIMESTAMP(6) WITH TIME ZONE NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_change_log_changed_at ON change_log (changed_at);
@@ -1,7 +1,9 @@
 const API_URL = 'http://localhost:8080/api';
+let scheduleStream = null;
+let streamGroupId = null;
 
 async function getGroups() {
-    const response = await fetch(`${API_URL}/groups`);
+    const response = await fetch(`${API_URL}/groups?fields=id,groupNumber`);
     const groups = await response.json();
     const groupList = document.getElementById('groupList');
     const groupSelect = document.getElementById('groupSelect');
@@ -77,7 +79,21 @@ async function deleteGroup(id) {
     }
 }
 
+function watchSchedules(groupId) {
+    if (streamGroupId === groupId) {
+        return;
+    }
+    if (scheduleStream) {
+        scheduleStream.close();
+    }
+    streamGroupId = groupId;
+    scheduleStream = new EventSource(`${API_URL}/schedules/stream?groupIds=${groupId}`);
+    ['schedule', 'timetable', 'resync'].forEach(name =>
+        scheduleStream.addEventListener(name, () => getSchedules(groupId)));
+}
+
 async function getSchedules(groupId) {
+    watchSchedules(groupId);
     const response = await fetch(`${API_URL}/schedules/group/${groupId}`);
     const schedules = await response.json();
     const scheduleList = document.getElementById('scheduleList');
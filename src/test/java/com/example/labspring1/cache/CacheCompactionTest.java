@@ -0,0 +1,62 @@
+package com.example.labspring1.cache;
+
+import com.example.labspring1.dto.GroupDto;
+import com.example.labspring1.dto.ScheduleDto;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CacheCompactionTest {
+
+    @Test
+    @DisplayName("Schedules loaded separately share one instance of each repeated value")
+    void testRepeatedValuesAreShared() {
+        CacheManager cacheManager = new CacheManager();
+        ScheduleDto first = schedule(1L);
+        ScheduleDto second = schedule(2L);
+        assertNotSame(first.getSubject(), second.getSubject());
+
+        cacheManager.putScheduleList("findAll", new ArrayList<>(List.of(first, second)));
+        cacheManager.putGroup(5L, new GroupDto(5L, new String("334701"), new ArrayList<>(List.of(schedule(3L)))));
+
+        List<ScheduleDto> cached = cacheManager.getScheduleList("findAll");
+        ScheduleDto nested = cacheManager.getGroup(5L).getSchedules().get(0);
+        assertSame(cached.get(0).getSubject(), cached.get(1).getSubject());
+        assertSame(cached.get(0).getAuditorium(), nested.getAuditorium());
+        assertSame(cached.get(0).getGroupId(), nested.getGroupId());
+        assertSame(cached.get(0).getGroupNumber(), cacheManager.getGroup(5L).getGroupNumber());
+        assertEquals(2L, cached.get(1).getId());
+    }
+
+    @Test
+    @DisplayName("Callers' DTOs stay writable and changes to them never reach the cache")
+    void testCachedValuesAreIsolated() {
+        CacheManager cacheManager = new CacheManager();
+        ScheduleDto schedule = schedule(1L);
+        GroupDto group = new GroupDto(5L, "334701", new ArrayList<>(List.of(schedule)));
+
+        cacheManager.putGroup(5L, group);
+        cacheManager.putGroupList("findAll", List.of(group));
+        schedule.setSubject("Physics");
+        group.setGroupNumber("334702");
+        GroupDto hit = cacheManager.getGroup(5L);
+        hit.getSchedules().add(schedule(2L));
+
+        assertSame(cacheManager.groups().get(5L), cacheManager.groupLists().get("findAll").get(0));
+        assertNotSame(hit, cacheManager.getGroup(5L));
+        assertEquals("334701", cacheManager.getGroup(5L).getGroupNumber());
+        assertEquals(List.of("Math"), cacheManager.getGroupList("findAll").get(0).getSchedules().stream()
+                .map(ScheduleDto::getSubject).toList());
+    }
+
+    private static ScheduleDto schedule(Long id) {
+        ScheduleDto schedule = new ScheduleDto(id, new String("Math"), new String("LK"), new String("09:00-10:20"),
+                new String("101-1"), Long.valueOf(1_000L + 5));
+        schedule.setGroupNumber(new String("334701"));
+        return schedule;
+    }
+}
@@ -0,0 +1,150 @@
+package com.example.labspring1.cache;
+
+import com.example.labspring1.calendar.LessonCalendar;
+import com.example.labspring1.calendar.Timetable;
+import com.example.labspring1.dto.GroupDto;
+import com.example.labspring1.dto.ScheduleDto;
+import com.example.labspring1.model.ChangeLogEntry;
+import com.example.labspring1.service.ChangeLogService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.web.context.WebServerGracefulShutdownLifecycle;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+class CacheSnapshotTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final ChangeLogService changeLogService = mock(ChangeLogService.class);
+
+    @BeforeEach
+    void setUp() {
+        when(changeLogService.committedToken()).thenReturn(5L);
+        when(changeLogService.entriesAfter(anyLong(), anyInt())).thenReturn(List.of());
+    }
+
+    @Test
+    @DisplayName("Regions survive a save and restore round trip")
+    void testRoundTrip() {
+        CacheManager source = new CacheManager();
+        ScheduleDto schedule = new ScheduleDto(7L, "Math", "LK", "09:00", "101", 1L);
+        schedule.setGroupNumber("334701");
+        GroupDto group = new GroupDto(1L, "334701", List.of(schedule));
+        source.putGroupList("findAll", List.of(group));
+        source.putGroup(1L, group);
+        source.putSchedule(7L, schedule);
+        source.putTimetable("334701", timetable());
+
+        Path file = tempDir.resolve("cache.bin");
+        new CacheSnapshot(source, changeLogService, true, file.toString(), 600, 10080).save();
+        CacheManager target = new CacheManager();
+        new CacheSnapshot(target, changeLogService, true, file.toString(), 600, 10080).restore();
+
+        assertEquals("334701", target.getGroupList("findAll").get(0).getGroupNumber());
+        assertEquals("Math", target.getGroup(1L).getSchedules().get(0).getSubject());
+        assertNull(target.getSchedule(7L).getDate());
+        Timetable restored = target.getTimetable("334701");
+        assertNotNull(restored);
+        assertTrue(restored.lessonsFor(DayOfWeek.MONDAY).get(0)
+                .occursOn(restored.dayIndex(LocalDate.of(2025, 2, 10))));
+        assertFalse(restored.lessonsFor(DayOfWeek.MONDAY).get(0)
+                .occursOn(restored.dayIndex(LocalDate.of(2025, 2, 17))));
+    }
+
+    @Test
+    @DisplayName("Expired group entries are dropped while fresh timetables are kept")
+    void testExpiredSnapshotKeepsOnlyTimetables() {
+        CacheManager source = new CacheManager();
+        source.putGroup(1L, new GroupDto(1L, "334701", null));
+        source.putTimetable("334701", timetable());
+
+        Path file = tempDir.resolve("cache.bin");
+        new CacheSnapshot(source, changeLogService, true, file.toString(), 0, 10080).save();
+        CacheManager target = new CacheManager();
+        new CacheSnapshot(target, changeLogService, true, file.toString(), -1, 10080).restore();
+
+        assertFalse(target.containsGroupKey(1L));
+        assertNotNull(target.getTimetable("334701"));
+    }
+
+    @Test
+    @DisplayName("A corrupt or missing snapshot leaves the cache empty")
+    void testCorruptSnapshotIgnored() throws Exception {
+        Path file = tempDir.resolve("cache.bin");
+        CacheManager target = new CacheManager();
+        new CacheSnapshot(target, changeLogService, true, file.toString(), 600, 10080).restore();
+
+        Files.write(file, new byte[] {1, 2, 3});
+        new CacheSnapshot(target, changeLogService, true, file.toString(), 600, 10080).restore();
+
+        assertFalse(target.containsGroupListKey("findAll"));
+    }
+
+    @Test
+    @DisplayName("Changes committed while the node was down evict what they made stale")
+    void testRestoreReconcilesWithChangeLog() {
+        CacheManager source = new CacheManager();
+        ScheduleDto schedule = new ScheduleDto(7L, "Math", "LK", "09:00", "101", 1L);
+        source.putGroup(1L, new GroupDto(1L, "334701", List.of(schedule)));
+        source.putSchedule(7L, schedule);
+        source.putSchedule(8L, new ScheduleDto(8L, "Physics", "LK", "10:35", "102", 1L));
+        source.putTimetable("334701", timetable());
+        Path file = tempDir.resolve("cache.bin");
+        new CacheSnapshot(source, changeLogService, true, file.toString(), 600, 10080).save();
+
+        ChangeLogEntry scheduleChange = mock(ChangeLogEntry.class);
+        when(scheduleChange.getEntityType()).thenReturn(ChangeLogEntry.EntityType.SCHEDULE);
+        when(scheduleChange.getEntityId()).thenReturn(7L);
+        when(changeLogService.entriesAfter(5L, CacheSnapshot.RECONCILE_LIMIT)).thenReturn(List.of(scheduleChange));
+        CacheManager target = new CacheManager();
+        new CacheSnapshot(target, changeLogService, true, file.toString(), 600, 10080).restore();
+
+        assertFalse(target.containsGroupKey(1L));
+        assertFalse(target.containsScheduleKey(7L));
+        assertTrue(target.containsScheduleKey(8L));
+
+        when(changeLogService.entriesAfter(5L, CacheSnapshot.RECONCILE_LIMIT)).thenReturn(null);
+        CacheManager pruned = new CacheManager();
+        new CacheSnapshot(pruned, changeLogService, true, file.toString(), 600, 10080).restore();
+
+        assertFalse(pruned.containsScheduleKey(8L));
+        assertNotNull(pruned.getTimetable("334701"));
+    }
+
+    @Test
+    @DisplayName("The snapshot is restored before the web server starts and saved after it drains")
+    void testPhaseIsOutsideWebServerLifecycle() {
+        assertTrue(CacheSnapshot.PHASE < WebServerGracefulShutdownLifecycle.SMART_LIFECYCLE_PHASE - 1024);
+    }
+
+    private static Timetable timetable() {
+        Map<String, Object> lesson = new HashMap<>();
+        lesson.put("subjectFullName", "Math");
+        lesson.put("startLessonTime", "09:00");
+        lesson.put("endLessonTime", "10:20");
+        lesson.put("auditories", List.of("101-1"));
+        lesson.put("weekNumber", List.of(1, 3));
+        lesson.put("startLessonDate", "10.02.2025");
+        lesson.put("endLessonDate", "30.05.2025");
+        Map<String, Object> response = new HashMap<>();
+        response.put("startDate", "10.02.2025");
+        response.put("endDate", "31.05.2025");
+        response.put("schedules", Map.of("Понедельник", List.of(lesson)));
+        return new LessonCalendar("").compile("334701", response);
+    }
+}
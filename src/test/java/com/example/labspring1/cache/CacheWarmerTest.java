@@ -0,0 +1,83 @@
+package com.example.labspring1.cache;
+
+import com.example.labspring1.config.UpstreamExecutor;
+import com.example.labspring1.exception.UpstreamUnavailableException;
+import com.example.labspring1.service.GroupService;
+import com.example.labspring1.service.TimetableService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.actuate.health.Status;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CacheWarmerTest {
+
+    @Mock
+    private GroupService groupService;
+
+    @Mock
+    private TimetableService timetableService;
+
+    private ExecutorService executor;
+    private CacheWarmer cacheWarmer;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newFixedThreadPool(4);
+        cacheWarmer = new CacheWarmer(groupService, timetableService, new UpstreamExecutor(executor), true, 2, 10);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Warm-up refreshes the timetable of every group, even if some fail")
+    void testWarmUpRefreshesAllGroups() {
+        when(groupService.warmCache()).thenReturn(List.of("1", "2", "3"));
+        when(timetableService.refresh("2")).thenThrow(new UpstreamUnavailableException("down"));
+
+        cacheWarmer.warmUp();
+
+        verify(timetableService).refresh("1");
+        verify(timetableService).refresh("2");
+        verify(timetableService).refresh("3");
+    }
+
+    @Test
+    @DisplayName("Health stays out of service until the first warm-up finishes")
+    void testHealthReflectsWarmUp() throws InterruptedException {
+        when(groupService.warmCache()).thenReturn(List.of());
+        assertEquals(Status.OUT_OF_SERVICE, cacheWarmer.health().getStatus());
+
+        cacheWarmer.warmUpOnStartup();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+
+        assertEquals(Status.UP, cacheWarmer.health().getStatus());
+    }
+
+    @Test
+    @DisplayName("Disabled warm-up reports ready immediately")
+    void testDisabledWarmUp() {
+        CacheWarmer disabled = new CacheWarmer(groupService, timetableService, new UpstreamExecutor(executor), false, 2, 10);
+
+        disabled.warmUpOnStartup();
+
+        assertEquals(Status.UP, disabled.health().getStatus());
+        verifyNoInteractions(groupService);
+    }
+}
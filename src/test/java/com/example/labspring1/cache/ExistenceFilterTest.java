@@ -0,0 +1,88 @@
+package com.example.labspring1.cache;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExistenceFilterTest {
+
+    @Test
+    @DisplayName("Before the first rebuild nothing is rejected")
+    void testUnbuiltAdmitsEverything() {
+        ExistenceFilter filter = new ExistenceFilter();
+
+        assertTrue(filter.mightContainGroup(42L));
+        assertTrue(filter.mightContainGroupNumber("999999"));
+        assertTrue(filter.mightContainSchedule(42L));
+    }
+
+    @Test
+    @DisplayName("Existing keys are always admitted and most unknown keys are rejected")
+    void testNoFalseNegatives() {
+        Map<Long, String> groups = new HashMap<>();
+        LongStream.range(0, 5_000).forEach(id -> groups.put(id, String.valueOf(300_000 + id)));
+        ExistenceFilter filter = new ExistenceFilter();
+        filter.beginRebuild();
+        filter.finishRebuild(groups, LongStream.range(0, 5_000).boxed().toList());
+
+        groups.forEach((id, number) -> {
+            assertTrue(filter.mightContainGroup(id));
+            assertTrue(filter.mightContainGroupNumber(number));
+            assertTrue(filter.mightContainSchedule(id));
+        });
+        long falsePositives = LongStream.range(1_000_000, 1_010_000).filter(filter::mightContainGroup).count();
+        assertTrue(falsePositives < 300, "false positives: " + falsePositives);
+    }
+
+    @Test
+    @DisplayName("Writes made while a rebuild reads its snapshot survive the swap")
+    void testWritesDuringRebuildKept() {
+        ExistenceFilter filter = new ExistenceFilter();
+        filter.beginRebuild();
+        filter.addGroup(7L, "334707");
+        filter.addScheduleIds(List.of(70L));
+        filter.finishRebuild(Map.of(1L, "334701"), List.of(10L));
+
+        assertTrue(filter.mightContainGroup(7L));
+        assertTrue(filter.mightContainGroupNumber("334707"));
+        assertTrue(filter.mightContainSchedule(70L));
+    }
+
+    @Test
+    @DisplayName("Rejected and negatively cached lookups are reported missing until a create")
+    void testNegativeCache() {
+        CacheManager cacheManager = new CacheManager(60_000, 100_000, 0, 0, 2, 1_000);
+        assertFalse(cacheManager.isScheduleMissing(3L));
+
+        cacheManager.putMissingSchedule(3L);
+        assertTrue(cacheManager.isScheduleMissing(3L));
+
+        cacheManager.markSchedulesExist(List.of(3L));
+        assertFalse(cacheManager.isScheduleMissing(3L));
+    }
+
+    @Test
+    @DisplayName("A create clears the negative cache only after its transaction commits")
+    void testMarkAfterCommit() {
+        CacheManager cacheManager = new CacheManager(60_000, 100_000, 0, 0, 2, 1_000);
+        cacheManager.putMissingSchedule(3L);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            cacheManager.markSchedulesExist(List.of(3L));
+            assertTrue(cacheManager.isScheduleMissing(3L));
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertFalse(cacheManager.isScheduleMissing(3L));
+    }
+}
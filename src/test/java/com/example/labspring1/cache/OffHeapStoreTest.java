@@ -0,0 +1,96 @@
+package com.example.labspring1.cache;
+
+import com.example.labspring1.dto.ScheduleDto;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OffHeapStoreTest {
+
+    @Test
+    @DisplayName("Lists beyond the on-heap bound are demoted off-heap and promoted back once hot")
+    void testDemotionAndPromotion() {
+        CacheManager cacheManager = new CacheManager(30_000, 100_000, 10, 1 << 20, 2, 1_000);
+        for (long groupId = 0; groupId < 20; groupId++) {
+            cacheManager.putScheduleList("findByGroupId:" + groupId, schedules(groupId, 3));
+        }
+
+        assertTrue(cacheManager.scheduleLists().size() <= 10);
+        assertTrue(cacheManager.containsScheduleListKey("findByGroupId:0"));
+        assertFalse(cacheManager.scheduleLists().containsKey("findByGroupId:0"));
+        assertEquals("Math 1", cacheManager.getScheduleList("findByGroupId:0").get(1).getSubject());
+        assertFalse(cacheManager.scheduleLists().containsKey("findByGroupId:0"));
+        List<ScheduleDto> promoted = cacheManager.getScheduleList("findByGroupId:0");
+        assertEquals(3, promoted.size());
+        assertEquals("Math 1", promoted.get(1).getSubject());
+        assertEquals(0L, promoted.get(1).getGroupId());
+        assertTrue(cacheManager.scheduleLists().containsKey("findByGroupId:0"));
+        promoted.get(1).setSubject("Physics");
+        assertEquals("Math 1", cacheManager.getScheduleList("findByGroupId:0").get(1).getSubject());
+    }
+
+    @Test
+    @DisplayName("Invalidation reaches lists held off-heap")
+    void testInvalidationReachesOffHeapTier() {
+        CacheManager cacheManager = new CacheManager(30_000, 100_000, 10, 1 << 20, 2, 1_000);
+        for (long groupId = 0; groupId < 20; groupId++) {
+            cacheManager.putScheduleList("findByGroupId:" + groupId, schedules(groupId, 3));
+        }
+
+        cacheManager.evictScheduleListsContaining(1L);
+        cacheManager.removeScheduleList("findByGroupId:2");
+
+        assertFalse(cacheManager.containsScheduleListKey("findByGroupId:0"));
+        assertFalse(cacheManager.containsScheduleListKey("findByGroupId:2"));
+        assertNotNull(cacheManager.getScheduleList("findByGroupId:3"));
+        cacheManager.clearScheduleLists();
+        assertFalse(cacheManager.containsScheduleListKey("findByGroupId:3"));
+    }
+
+    @Test
+    @DisplayName("A full store drops its least recently used entries and frees their pages")
+    void testLeastRecentlyUsedEviction() {
+        OffHeapStore store = new OffHeapStore(4L * OffHeapStore.PAGE_SIZE, 1, 1_000_000_000L);
+        store.put("a", new byte[OffHeapStore.PAGE_SIZE + 1], new long[] {1});
+        store.put("b", new byte[OffHeapStore.PAGE_SIZE], new long[] {2});
+        assertTrue(store.containsKey("a"));
+
+        assertTrue(store.put("c", new byte[OffHeapStore.PAGE_SIZE * 2], new long[] {3}));
+        assertFalse(store.put("d", new byte[OffHeapStore.PAGE_SIZE * 5], new long[] {4}));
+
+        assertFalse(store.containsKey("a"));
+        assertTrue(store.get("b").hot);
+        assertEquals(2L * OffHeapStore.PAGE_SIZE, store.usedBytes());
+    }
+
+    @Test
+    @DisplayName("Removing by schedule id drops exactly the entries that still hold it")
+    void testRemoveContainingUsesIndex() {
+        OffHeapStore store = new OffHeapStore(8L * OffHeapStore.PAGE_SIZE, 2, 1_000_000_000L);
+        store.put("a", new byte[10], new long[] {1, 2});
+        store.put("b", new byte[10], new long[] {2, 3});
+        store.put("c", new byte[10], new long[] {3});
+        store.put("a", new byte[10], new long[] {4});
+
+        store.removeContaining(2);
+
+        assertTrue(store.containsKey("a"));
+        assertFalse(store.containsKey("b"));
+        assertTrue(store.containsKey("c"));
+        store.removeContaining(4);
+        assertFalse(store.containsKey("a"));
+        assertEquals(OffHeapStore.PAGE_SIZE, store.usedBytes());
+    }
+
+    private static List<ScheduleDto> schedules(long groupId, int count) {
+        List<ScheduleDto> result = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            result.add(new ScheduleDto(groupId * 100 + i, "Math " + i, "LK", "09:00-10:20", "101-1", groupId));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.labspring1.calendar;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LessonCalendarTest {
+
+    private final LessonCalendar lessonCalendar = new LessonCalendar("");
+
+    @Test
+    @DisplayName("should take semester start from the response and honour the four-week cycle")
+    void shouldApplyWeekNumbers() {
+        Map<String, Object> lesson = lesson(List.of(1, 3), "10.02.2025", "30.05.2025", null);
+        Timetable timetable = lessonCalendar.compile("334701", response("10.02.2025", "Понедельник", lesson));
+
+        assertEquals(LocalDate.of(2025, 2, 10), timetable.getSemesterStart());
+        CompiledLesson compiled = timetable.lessonsFor(DayOfWeek.MONDAY).get(0);
+        assertTrue(compiled.occursOn(timetable.dayIndex(LocalDate.of(2025, 2, 10))));
+        assertFalse(compiled.occursOn(timetable.dayIndex(LocalDate.of(2025, 2, 17))));
+        assertTrue(compiled.occursOn(timetable.dayIndex(LocalDate.of(2025, 2, 24))));
+        assertTrue(compiled.occursOn(timetable.dayIndex(LocalDate.of(2025, 3, 10))));
+        assertFalse(compiled.occursOn(timetable.dayIndex(LocalDate.of(2025, 2, 11))));
+    }
+
+    @Test
+    @DisplayName("should limit lessons to their start and end dates")
+    void shouldRespectLessonRange() {
+        Map<String, Object> lesson = lesson(null, "03.03.2025", "17.03.2025", null);
+        Timetable timetable = lessonCalendar.compile("334701", response("10.02.2025", "Среда", lesson));
+
+        CompiledLesson compiled = timetable.lessonsFor(DayOfWeek.WEDNESDAY).get(0);
+        assertFalse(compiled.occursOn(timetable.dayIndex(LocalDate.of(2025, 2, 26))));
+        assertTrue(compiled.occursOn(timetable.dayIndex(LocalDate.of(2025, 3, 5))));
+        assertTrue(compiled.occursOn(timetable.dayIndex(LocalDate.of(2025, 3, 12))));
+        assertFalse(compiled.occursOn(timetable.dayIndex(LocalDate.of(2025, 3, 19))));
+    }
+
+    @Test
+    @DisplayName("should schedule single-date lessons only on their date")
+    void shouldHandleDateLesson() {
+        Map<String, Object> lesson = lesson(null, null, null, "14.03.2025");
+        Timetable timetable = lessonCalendar.compile("334701", response("10.02.2025", "Пятница", lesson));
+
+        CompiledLesson compiled = timetable.lessonsFor(DayOfWeek.FRIDAY).get(0);
+        assertTrue(compiled.occursOn(timetable.dayIndex(LocalDate.of(2025, 3, 14))));
+        assertFalse(compiled.occursOn(timetable.dayIndex(LocalDate.of(2025, 3, 21))));
+        assertFalse(compiled.occursOn(timetable.dayIndex(LocalDate.of(2024, 3, 14))));
+    }
+
+    @Test
+    @DisplayName("should skip lessons with malformed dates instead of matching every day")
+    void shouldSkipMalformedLesson() {
+        Map<String, Object> lesson = lesson(null, "not-a-date", "30.05.2025", null);
+        Timetable timetable = lessonCalendar.compile("334701", response("10.02.2025", "Вторник", lesson));
+
+        assertTrue(timetable.lessonsFor(DayOfWeek.TUESDAY).isEmpty());
+    }
+
+    @Test
+    @DisplayName("should prefer the configured semester start")
+    void shouldUseConfiguredSemesterStart() {
+        LessonCalendar configured = new LessonCalendar("03.02.2025");
+        Map<String, Object> lesson = lesson(List.of(2), null, null, null);
+        Timetable timetable = configured.compile("334701", response("10.02.2025", "Понедельник", lesson));
+
+        CompiledLesson compiled = timetable.lessonsFor(DayOfWeek.MONDAY).get(0);
+        assertTrue(compiled.occursOn(timetable.dayIndex(LocalDate.of(2025, 2, 10))));
+        assertFalse(compiled.occursOn(timetable.dayIndex(LocalDate.of(2025, 2, 3))));
+    }
+
+    private static Map<String, Object> response(String startDate, String day, Map<String, Object> lesson) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("startDate", startDate);
+        response.put("endDate", "31.05.2025");
+        response.put("schedules", Map.of(day, List.of(lesson)));
+        return response;
+    }
+
+    private static Map<String, Object> lesson(List<Integer> weekNumber, String start, String end, String date) {
+        Map<String, Object> lesson = new HashMap<>();
+        lesson.put("subjectFullName", "Математика");
+        lesson.put("lessonTypeAbbrev", "ЛК");
+        lesson.put("startLessonTime", "09:00");
+        lesson.put("endLessonTime", "10:20");
+        lesson.put("auditories", List.of("101-1"));
+        lesson.put("weekNumber", weekNumber);
+        lesson.put("startLessonDate", start);
+        lesson.put("endLessonDate", end);
+        lesson.put("dateLesson", date);
+        return lesson;
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.labspring1.client;
+
+import com.example.labspring1.exception.UpstreamUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.RestTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class BsuirClientTest {
+
+    private final RestTemplate restTemplate = mock(RestTemplate.class);
+    private final BsuirClient client = new BsuirClient("http://bsuir.test/%s", 3, 30, restTemplate,
+            new SimpleMeterRegistry());
+
+    @Test
+    @DisplayName("should not open the circuit on 4xx responses for unknown groups")
+    void shouldIgnoreClientErrors() {
+        when(restTemplate.getForObject(anyString(), eq(String.class)))
+                .thenThrow(HttpClientErrorException.create(HttpStatus.NOT_FOUND, "Not Found", null, null, null));
+
+        for (int i = 0; i < 5; i++) {
+            assertThrows(HttpClientErrorException.class, () -> client.fetchSchedule("999999"));
+        }
+
+        verify(restTemplate, times(5)).getForObject(anyString(), eq(String.class));
+    }
+
+    @Test
+    @DisplayName("should open the circuit after consecutive 5xx responses")
+    void shouldOpenOnServerErrors() {
+        when(restTemplate.getForObject(anyString(), eq(String.class)))
+                .thenThrow(HttpServerErrorException.create(HttpStatus.BAD_GATEWAY, "Bad Gateway", null, null, null));
+
+        for (int i = 0; i < 3; i++) {
+            assertThrows(HttpServerErrorException.class, () -> client.fetchSchedule("334701"));
+        }
+
+        assertThrows(UpstreamUnavailableException.class, () -> client.fetchSchedule("334701"));
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.labspring1.client;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CircuitBreakerTest {
+
+    private final CircuitBreaker circuitBreaker = new CircuitBreaker(3, 1_000);
+
+    @Test
+    @DisplayName("should open after consecutive failures reach the threshold")
+    void shouldOpenAfterThreshold() {
+        circuitBreaker.recordFailure(0);
+        circuitBreaker.recordFailure(0);
+        assertTrue(circuitBreaker.allowRequest(0));
+
+        circuitBreaker.recordFailure(0);
+
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+        assertFalse(circuitBreaker.allowRequest(500));
+    }
+
+    @Test
+    @DisplayName("should let a single trial through after the open period and close on success")
+    void shouldHalfOpenThenClose() {
+        openBreaker();
+
+        assertTrue(circuitBreaker.allowRequest(1_000));
+        assertFalse(circuitBreaker.allowRequest(1_000));
+        circuitBreaker.recordSuccess();
+
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+        assertTrue(circuitBreaker.allowRequest(1_001));
+    }
+
+    @Test
+    @DisplayName("should reopen when the half-open trial fails")
+    void shouldReopenOnFailedTrial() {
+        openBreaker();
+        assertTrue(circuitBreaker.allowRequest(1_000));
+
+        circuitBreaker.recordFailure(1_000);
+
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+        assertFalse(circuitBreaker.allowRequest(1_500));
+        assertTrue(circuitBreaker.allowRequest(2_000));
+    }
+
+    private void openBreaker() {
+        for (int i = 0; i < 3; i++) {
+            circuitBreaker.recordFailure(0);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.labspring1.config;
+
+import com.example.labspring1.aspect.LoggingAspect;
+import com.example.labspring1.dto.GroupDto;
+import com.example.labspring1.dto.ScheduleDto;
+import com.example.labspring1.repository.GroupSummary;
+import com.example.labspring1.service.GroupService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.SpringProxy;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+import org.springframework.core.DecoratingProxy;
+import org.springframework.data.projection.TargetAware;
+
+import java.util.LinkedHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NativeHintsTest {
+
+    private final RuntimeHints hints = new RuntimeHints();
+
+    @BeforeEach
+    void setUp() {
+        new NativeHints().registerHints(hints, getClass().getClassLoader());
+    }
+
+    @Test
+    @DisplayName("DTO accessors are registered for Jackson binding")
+    void testJacksonHints() throws Exception {
+        assertTrue(RuntimeHintsPredicates.reflection().onMethod(GroupDto.class.getMethod("getGroupNumber"))
+                .test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onMethod(ScheduleDto.class.getMethod("setSubject", String.class))
+                .test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onType(LinkedHashMap.class)
+                .withMemberCategory(MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS).test(hints));
+    }
+
+    @Test
+    @DisplayName("Projection proxies, the cache config and the aspect are covered")
+    void testHibernateAndAspectHints() {
+        assertTrue(RuntimeHintsPredicates.proxies().forInterfaces(GroupSummary.class, TargetAware.class,
+                SpringProxy.class, DecoratingProxy.class).test(hints));
+        assertTrue(RuntimeHintsPredicates.resource().forResource("ehcache.xml").test(hints));
+        assertTrue(RuntimeHintsPredicates.resource()
+                .forResource("db/vendor/postgresql/V2__cascade_schedule_group_fk.sql").test(hints));
+        assertTrue(RuntimeHintsPredicates.resource()
+                .forResource("db/vendor/h2/V2__cascade_schedule_group_fk.sql").test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onType(LoggingAspect.class)
+                .withMemberCategory(MemberCategory.INVOKE_DECLARED_METHODS).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onType(GroupService.class)
+                .withMemberCategory(MemberCategory.INTROSPECT_PUBLIC_METHODS).test(hints));
+    }
+}
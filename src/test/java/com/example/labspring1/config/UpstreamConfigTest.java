@@ -0,0 +1,33 @@
+package com.example.labspring1.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UpstreamConfigTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(TaskExecutionAutoConfiguration.class))
+            .withUserConfiguration(UpstreamConfig.class);
+
+    @Test
+    @DisplayName("should keep Boot's application task executor next to the upstream pool")
+    void shouldKeepApplicationTaskExecutor() {
+        contextRunner.run(context -> {
+            assertTrue(context.containsBean("applicationTaskExecutor"));
+            assertNotNull(context.getBean(UpstreamExecutor.class));
+        });
+    }
+
+    @Test
+    @DisplayName("should run the application task executor on virtual threads when enabled")
+    void shouldUseVirtualThreadsForTaskExecutor() {
+        contextRunner.withPropertyValues("spring.threads.virtual.enabled=true").run(context ->
+                assertInstanceOf(SimpleAsyncTaskExecutor.class, context.getBean("applicationTaskExecutor")));
+    }
+}
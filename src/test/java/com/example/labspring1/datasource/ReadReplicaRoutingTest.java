@@ -0,0 +1,94 @@
+package com.example.labspring1.datasource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReadReplicaRoutingTest {
+
+    private SingleConnectionDataSource primary;
+    private SingleConnectionDataSource replica;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readOnly;
+    private TransactionTemplate readWrite;
+
+    @BeforeEach
+    void setUp() {
+        primary = database("primary");
+        replica = database("replica");
+        useMonitor(new ReplicaHealthMonitor(replica, "SELECT lag FROM replication", 10));
+    }
+
+    @AfterEach
+    void tearDown() {
+        primary.destroy();
+        replica.destroy();
+    }
+
+    @Test
+    @DisplayName("should send read-only transactions to the replica and writes to the primary")
+    void shouldRouteByReadOnlyFlag() {
+        assertEquals("replica", readOnly.execute(status -> currentNode()));
+        assertEquals("primary", readWrite.execute(status -> currentNode()));
+    }
+
+    @Test
+    @DisplayName("should fall back to the primary when the replica lags behind")
+    void shouldFallBackWhenLagging() {
+        ReplicaHealthMonitor monitor = new ReplicaHealthMonitor(replica, "SELECT lag FROM replication", 10);
+        useMonitor(monitor);
+        new JdbcTemplate(replica).update("UPDATE replication SET lag = 60");
+
+        monitor.check();
+
+        assertFalse(monitor.isAvailable());
+        assertEquals("primary", readOnly.execute(status -> currentNode()));
+    }
+
+    @Test
+    @DisplayName("should fall back to the primary when the replica is down")
+    void shouldFallBackWhenReplicaIsDown() {
+        ReplicaHealthMonitor monitor = new ReplicaHealthMonitor(replica, "SELECT lag FROM replication", 10);
+        useMonitor(monitor);
+        replica.destroy();
+        replica.setUrl("jdbc:h2:mem:missing;IFEXISTS=TRUE");
+
+        assertEquals("primary", readOnly.execute(status -> currentNode()));
+        assertFalse(monitor.isAvailable());
+    }
+
+    private void useMonitor(ReplicaHealthMonitor monitor) {
+        LazyConnectionDataSourceProxy routing = new LazyConnectionDataSourceProxy(primary);
+        routing.setReadOnlyDataSource(new ReplicaFallbackDataSource(replica, primary, monitor));
+        jdbcTemplate = new JdbcTemplate(routing);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(routing);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        readWrite = new TransactionTemplate(transactionManager);
+    }
+
+    private String currentNode() {
+        return jdbcTemplate.queryForObject("SELECT name FROM node", String.class);
+    }
+
+    private static SingleConnectionDataSource database(String name) {
+        SingleConnectionDataSource dataSource = new SingleConnectionDataSource(
+                "jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", "sa", "", true);
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("DROP TABLE IF EXISTS node");
+        jdbc.execute("DROP TABLE IF EXISTS replication");
+        jdbc.execute("CREATE TABLE node (name VARCHAR(20))");
+        jdbc.execute("CREATE TABLE replication (lag DOUBLE)");
+        jdbc.update("INSERT INTO node VALUES (?)", name);
+        jdbc.update("INSERT INTO replication VALUES (0)");
+        return dataSource;
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.labspring1.dto;
+
+import com.example.labspring1.exception.InvalidRequestException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GroupShapeTest {
+
+    @Test
+    @DisplayName("No parameters select the full representation")
+    void testDefaultIsFull() {
+        assertTrue(GroupShape.of(null, null).isFull());
+        assertTrue(GroupShape.of(null, "schedules").isFull());
+        assertTrue(GroupShape.of("id,groupNumber,version", "schedules").isFull());
+    }
+
+    @Test
+    @DisplayName("Sparse fields project only the requested values")
+    void testProjection() {
+        GroupShape shape = GroupShape.of("id, groupNumber", null);
+
+        GroupDto dto = shape.project(1L, "334701", 3L, List.of());
+
+        assertFalse(shape.includesSchedules());
+        assertEquals("id,groupNumber", shape.key());
+        assertEquals(1L, dto.getId());
+        assertEquals("334701", dto.getGroupNumber());
+        assertNull(dto.getVersion());
+        assertNull(dto.getSchedules());
+        assertTrue(GroupShape.of("id", "schedules").includesSchedules());
+    }
+
+    @Test
+    @DisplayName("Unknown fields are rejected")
+    void testUnknownField() {
+        assertThrows(InvalidRequestException.class, () -> GroupShape.of("id,name", null));
+        assertThrows(InvalidRequestException.class, () -> GroupShape.of("id", "groupNumber"));
+    }
+}
@@ -0,0 +1,144 @@
+package com.example.labspring1.invalidation;
+
+import com.example.labspring1.cache.CacheManager;
+import com.example.labspring1.dto.GroupDto;
+import com.example.labspring1.dto.ScheduleDto;
+import com.example.labspring1.model.Group;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class CacheInvalidatorTest {
+
+    private CacheManager nodeA;
+    private CacheManager nodeB;
+    private CacheInvalidator invalidatorA;
+    private CacheInvalidator invalidatorB;
+    private volatile boolean peersConnected = true;
+    private final org.hibernate.Cache secondLevelCache = mock(org.hibernate.Cache.class);
+
+    @BeforeEach
+    void setUp() {
+        InProcessInvalidationBus bus = new InProcessInvalidationBus() {
+            @Override
+            public boolean deliversPeerEvents() {
+                return peersConnected;
+            }
+        };
+        nodeA = new CacheManager();
+        nodeB = new CacheManager();
+        EntityManagerFactory entityManagerFactory = mock(EntityManagerFactory.class);
+        Cache jpaCache = mock(Cache.class);
+        when(entityManagerFactory.getCache()).thenReturn(jpaCache);
+        when(jpaCache.unwrap(org.hibernate.Cache.class)).thenReturn(secondLevelCache);
+        invalidatorA = new CacheInvalidator(nodeA, bus, entityManagerFactory);
+        invalidatorB = new CacheInvalidator(nodeB, bus, entityManagerFactory);
+        for (CacheManager cache : List.of(nodeA, nodeB)) {
+            cache.putGroup(1L, new GroupDto(1L, "334701", List.of()));
+            cache.putGroup(2L, new GroupDto(2L, "334702", List.of()));
+            cache.putGroupList("findAll", List.of());
+            cache.putSchedule(5L, new ScheduleDto(5L, "Math", "LK", "09:00", "101", 1L));
+        }
+    }
+
+    @Test
+    @DisplayName("Peers drop the changed ids and list entries once the batch is applied")
+    void testPeerAppliesBatch() {
+        invalidatorA.groupChanged(1L);
+        assertTrue(nodeB.containsGroupKey(1L));
+
+        invalidatorB.applyPending();
+
+        assertFalse(nodeB.containsGroupKey(1L));
+        assertTrue(nodeB.containsGroupKey(2L));
+        assertFalse(nodeB.containsGroupListKey("findAll"));
+        assertTrue(nodeB.containsScheduleKey(5L));
+        verify(secondLevelCache).evictNaturalIdData(Group.class);
+    }
+
+    @Test
+    @DisplayName("A node ignores its own events")
+    void testOwnEventsIgnored() {
+        invalidatorA.groupChanged(1L);
+
+        invalidatorA.applyPending();
+
+        assertTrue(nodeA.containsGroupKey(1L));
+        assertTrue(nodeA.containsGroupListKey("findAll"));
+    }
+
+    @Test
+    @DisplayName("Groups created on a peer are admitted by the existence filter")
+    void testPeerCreatesAdmitted() {
+        nodeB.existence().beginRebuild();
+        nodeB.existence().finishRebuild(Map.of(1L, "334701", 2L, "334702"), List.of(5L));
+        assertTrue(nodeB.isGroupMissing(9L));
+        assertTrue(nodeB.isGroupNumberMissing("334709"));
+
+        invalidatorA.groupChanged(9L);
+        invalidatorB.applyPending();
+
+        assertFalse(nodeB.isGroupMissing(9L));
+        assertFalse(nodeB.isGroupNumberMissing("334709"));
+    }
+
+    @Test
+    @DisplayName("Without peer delivery a filter rejection is confirmed and then negatively cached")
+    void testRejectionNotFinalWithoutPeers() {
+        nodeB.existence().beginRebuild();
+        nodeB.existence().finishRebuild(Map.of(1L, "334701", 2L, "334702"), List.of(5L));
+        peersConnected = false;
+
+        assertFalse(nodeB.isGroupMissing(9L));
+        assertFalse(nodeB.isScheduleMissing(9L));
+
+        nodeB.putMissingGroup(9L);
+        assertTrue(nodeB.isGroupMissing(9L));
+    }
+
+    @Test
+    @DisplayName("A whole-region event stops the filter rejecting until the next rebuild")
+    void testWholeRegionDistrustsFilter() {
+        nodeB.existence().beginRebuild();
+        nodeB.existence().finishRebuild(Map.of(1L, "334701", 2L, "334702"), List.of(5L));
+        assertTrue(nodeB.isGroupMissing(9L));
+
+        invalidatorB.receive(new InvalidationEvent("", InvalidationEvent.Region.GROUP, new long[0]));
+        invalidatorB.applyPending();
+
+        assertFalse(nodeB.isGroupMissing(9L));
+        assertFalse(nodeB.isScheduleMissing(9L));
+    }
+
+    @Test
+    @DisplayName("A whole-region event clears the region")
+    void testWholeRegion() {
+        invalidatorB.receive(new InvalidationEvent("", InvalidationEvent.Region.SCHEDULE, new long[0]));
+
+        invalidatorB.applyPending();
+
+        assertFalse(nodeB.containsScheduleKey(5L));
+        assertTrue(nodeB.containsGroupKey(1L));
+        verify(secondLevelCache, never()).evictNaturalIdData(Group.class);
+    }
+
+    @Test
+    @DisplayName("Events survive an encode and decode round trip")
+    void testEncoding() {
+        InvalidationEvent event = InvalidationEvent.decode(
+                new InvalidationEvent("node", InvalidationEvent.Region.GROUP, new long[] {3, 4}).encode());
+
+        assertEquals("node", event.getOrigin());
+        assertEquals(InvalidationEvent.Region.GROUP, event.getRegion());
+        assertArrayEquals(new long[] {3, 4}, event.getIds());
+        assertTrue(InvalidationEvent.decode("node|SCHEDULE|").isWholeRegion());
+    }
+}
@@ -0,0 +1,206 @@
+package com.example.labspring1.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Drives a mixed read/write workload against a locally booted application backed by H2 and a BSUIR stub.
+ * Run with {@code mvn -Pload-test verify}; tune with the {@code loadtest.*} properties in the pom.
+ */
+@Tag("load")
+@ActiveProfiles("loadtest")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class ApiLoadTest {
+
+    private static final int CONCURRENCY = Integer.getInteger("loadtest.concurrency", 32);
+    private static final int DURATION_SECONDS = Integer.getInteger("loadtest.durationSeconds", 30);
+    private static final int WARMUP_SECONDS = Integer.getInteger("loadtest.warmupSeconds", 5);
+    private static final long UPSTREAM_LATENCY_MS = Long.getLong("loadtest.upstreamLatencyMs", 150);
+    private static final int GROUPS = Integer.getInteger("loadtest.groups", 50);
+    private static final double WRITE_RATIO = Double.parseDouble(System.getProperty("loadtest.writeRatio", "0.1"));
+    private static final LocalDate SEMESTER_START = LocalDate.of(2025, 2, 10);
+
+    private static BsuirStubServer stub;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    @LocalServerPort
+    private int port;
+
+    @DynamicPropertySource
+    static void upstreamProperties(DynamicPropertyRegistry registry) throws IOException {
+        stub = new BsuirStubServer(UPSTREAM_LATENCY_MS);
+        registry.add("bsuir.api.url", stub::getUrlTemplate);
+    }
+
+    @AfterAll
+    static void stopStub() {
+        if (stub != null) {
+            stub.close();
+        }
+    }
+
+    @Test
+    void mixedWorkload() throws Exception {
+        List<Group> groups = seed();
+
+        run(groups, WARMUP_SECONDS);
+        LatencyReport report = run(groups, DURATION_SECONDS);
+
+        String title = String.format("concurrency=%d duration=%ds upstreamLatency=%dms writeRatio=%.2f upstreamCalls=%d",
+                CONCURRENCY, DURATION_SECONDS, UPSTREAM_LATENCY_MS, WRITE_RATIO, stub.getRequestCount());
+        String content = report.format(title, DURATION_SECONDS);
+        System.out.println(content);
+        report.write(Path.of("target", "load-test", "report-" + System.currentTimeMillis() + ".txt"), content);
+
+        assertTrue(report.getErrors() == 0, "load test produced errors:\n" + content);
+    }
+
+    private List<Group> seed() throws Exception {
+        StringBuilder groupsJson = new StringBuilder("[");
+        for (int i = 0; i < GROUPS; i++) {
+            groupsJson.append(i > 0 ? "," : "").append("{\"groupNumber\":\"").append(400000 + i).append("\"}");
+        }
+        JsonNode created = objectMapper.readTree(send("POST", "/api/groups/bulk", groupsJson.append(']').toString()).body());
+
+        List<Group> groups = new ArrayList<>();
+        StringBuilder schedulesJson = new StringBuilder("[");
+        for (JsonNode node : created) {
+            Group group = new Group(node.get("id").asLong(), node.get("groupNumber").asText());
+            groups.add(group);
+            for (int i = 0; i < 10; i++) {
+                schedulesJson.append(schedulesJson.length() > 1 ? "," : "").append(scheduleJson(group.id()));
+            }
+        }
+        send("POST", "/api/schedules/bulk", schedulesJson.append(']').toString());
+        return groups;
+    }
+
+    private LatencyReport run(List<Group> groups, int seconds) throws Exception {
+        long deadline = System.nanoTime() + seconds * 1_000_000_000L;
+        ExecutorService workers = Executors.newFixedThreadPool(CONCURRENCY);
+        List<Future<Map<String, LatencySamples>>> futures = new ArrayList<>();
+        for (int i = 0; i < CONCURRENCY; i++) {
+            futures.add(workers.submit(() -> work(groups, deadline)));
+        }
+
+        Map<String, LatencySamples> merged = new HashMap<>();
+        for (Future<Map<String, LatencySamples>> future : futures) {
+            future.get().forEach((operation, samples) ->
+                    merged.computeIfAbsent(operation, k -> new LatencySamples()).addAll(samples));
+        }
+        workers.shutdown();
+
+        LatencyReport report = new LatencyReport();
+        merged.forEach((operation, samples) -> report.add(operation, samples.toArray(), samples.getErrors()));
+        return report;
+    }
+
+    private Map<String, LatencySamples> work(List<Group> groups, long deadline) throws Exception {
+        Map<String, LatencySamples> samples = new HashMap<>();
+        List<Long> ownSchedules = new ArrayList<>();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (System.nanoTime() < deadline) {
+            Group group = groups.get(random.nextInt(groups.size()));
+            double roll = random.nextDouble();
+            String operation;
+            String method = "GET";
+            String path;
+            String body = null;
+            if (roll < WRITE_RATIO / 2) {
+                operation = "POST /api/schedules";
+                method = "POST";
+                path = "/api/schedules";
+                body = scheduleJson(group.id());
+            } else if (roll < WRITE_RATIO && !ownSchedules.isEmpty()) {
+                operation = "PUT /api/schedules/{id}";
+                method = "PUT";
+                path = "/api/schedules/" + ownSchedules.get(random.nextInt(ownSchedules.size()));
+                body = scheduleJson(group.id());
+            } else {
+                double read = random.nextDouble();
+                if (read < 0.15) {
+                    operation = "GET /api/groups";
+                    path = "/api/groups";
+                } else if (read < 0.35) {
+                    operation = "GET /api/groups/{id}";
+                    path = "/api/groups/" + group.id();
+                } else if (read < 0.45) {
+                    operation = "GET /api/schedules";
+                    path = "/api/schedules";
+                } else if (read < 0.70) {
+                    operation = "GET /api/schedules/group/{id}";
+                    path = "/api/schedules/group/" + group.id();
+                } else {
+                    operation = "GET /api/schedules/api";
+                    path = "/api/schedules/api?group=" + group.number() + "&date="
+                            + SEMESTER_START.plusDays(random.nextInt(110));
+                }
+            }
+
+            long start = System.nanoTime();
+            boolean failed;
+            try {
+                HttpResponse<String> response = send(method, path, body);
+                failed = response.statusCode() >= 400;
+                if (!failed && "POST".equals(method)) {
+                    ownSchedules.add(objectMapper.readTree(response.body()).get("id").asLong());
+                }
+            } catch (IOException e) {
+                failed = true;
+            }
+            samples.computeIfAbsent(operation, k -> new LatencySamples()).record(System.nanoTime() - start, failed);
+        }
+        return samples;
+    }
+
+    private HttpResponse<String> send(String method, String path, String body) throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .timeout(Duration.ofSeconds(30));
+        if (body == null) {
+            request.method(method, HttpRequest.BodyPublishers.noBody());
+        } else {
+            request.header("Content-Type", "application/json")
+                    .method(method, HttpRequest.BodyPublishers.ofString(body));
+        }
+        return httpClient.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static String scheduleJson(long groupId) {
+        return "{\"subject\":\"Load\",\"lessonType\":\"ЛК\",\"time\":\"10:00-11:20\",\"auditorium\":\"101-1\","
+                + "\"groupId\":" + groupId + "}";
+    }
+
+    private record Group(long id, String number) {
+    }
+}
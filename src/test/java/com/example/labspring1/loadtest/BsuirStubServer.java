@@ -0,0 +1,94 @@
+package com.example.labspring1.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Local stand-in for iis.bsuir.by that serves a fixed timetable after a configurable delay.
+ */
+public class BsuirStubServer implements AutoCloseable {
+
+    private static final String[] DAYS = {"Понедельник", "Вторник", "Среда", "Четверг", "Пятница", "Суббота"};
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final byte[] body;
+    private final long latencyMs;
+    private final AtomicLong requests = new AtomicLong();
+
+    public BsuirStubServer(long latencyMs) throws IOException {
+        this.latencyMs = latencyMs;
+        this.body = new ObjectMapper().writeValueAsBytes(timetable());
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 4096);
+        this.executor = Executors.newVirtualThreadPerTaskExecutor();
+        server.createContext("/api/v1/schedule", this::handle);
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    public String getUrlTemplate() {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + "/api/v1/schedule?studentGroup=%s";
+    }
+
+    public long getRequestCount() {
+        return requests.get();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        requests.incrementAndGet();
+        try {
+            Thread.sleep(latencyMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private static Map<String, Object> timetable() {
+        Map<String, Object> schedules = new LinkedHashMap<>();
+        for (String day : DAYS) {
+            List<Map<String, Object>> lessons = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                Map<String, Object> lesson = new LinkedHashMap<>();
+                lesson.put("subjectFullName", "Предмет " + i);
+                lesson.put("lessonTypeAbbrev", i % 2 == 0 ? "ЛК" : "ПЗ");
+                lesson.put("startLessonTime", (9 + i * 2) + ":00");
+                lesson.put("endLessonTime", (10 + i * 2) + ":20");
+                lesson.put("auditories", List.of((100 + i) + "-1"));
+                lesson.put("weekNumber", List.of(1, 2, 3, 4));
+                lesson.put("startLessonDate", "10.02.2025");
+                lesson.put("endLessonDate", "30.05.2025");
+                lessons.add(lesson);
+            }
+            schedules.put(day, lessons);
+        }
+        Map<String, Object> root = new LinkedHashMap<>();
+        root.put("startDate", "10.02.2025");
+        root.put("endDate", "30.05.2025");
+        root.put("schedules", schedules);
+        return root;
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
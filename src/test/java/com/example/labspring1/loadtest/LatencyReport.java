@@ -0,0 +1,60 @@
+package com.example.labspring1.loadtest;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+public class LatencyReport {
+
+    private final Map<String, long[]> latencies = new TreeMap<>();
+    private final Map<String, Long> errors = new TreeMap<>();
+
+    public void add(String operation, long[] operationLatencies, long operationErrors) {
+        long[] sorted = operationLatencies.clone();
+        Arrays.sort(sorted);
+        latencies.put(operation, sorted);
+        errors.put(operation, operationErrors);
+    }
+
+    public long getErrors() {
+        return errors.values().stream().mapToLong(Long::longValue).sum();
+    }
+
+    public String format(String title, double durationSeconds) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(title).append('\n');
+        sb.append(String.format("%-28s %9s %9s %10s %10s %10s %10s%n",
+                "operation", "requests", "errors", "req/s", "p50 ms", "p99 ms", "max ms"));
+        long total = 0;
+        for (Map.Entry<String, long[]> entry : latencies.entrySet()) {
+            long[] sorted = entry.getValue();
+            total += sorted.length;
+            sb.append(String.format("%-28s %9d %9d %10.1f %10.2f %10.2f %10.2f%n",
+                    entry.getKey(), sorted.length, errors.get(entry.getKey()), sorted.length / durationSeconds,
+                    millis(percentile(sorted, 0.50)), millis(percentile(sorted, 0.99)),
+                    millis(sorted.length == 0 ? 0 : sorted[sorted.length - 1])));
+        }
+        sb.append(String.format("total: %d requests, %.1f req/s, %d errors%n", total, total / durationSeconds, getErrors()));
+        return sb.toString();
+    }
+
+    public void write(Path file, String content) throws IOException {
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, content);
+    }
+
+    private static long percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
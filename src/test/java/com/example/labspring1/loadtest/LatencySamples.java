@@ -0,0 +1,34 @@
+package com.example.labspring1.loadtest;
+
+import java.util.Arrays;
+
+final class LatencySamples {
+    private long[] values = new long[1024];
+    private int size;
+    private long errors;
+
+    void record(long nanos, boolean failed) {
+        if (size == values.length) {
+            values = Arrays.copyOf(values, size * 2);
+        }
+        values[size++] = nanos;
+        if (failed) {
+            errors++;
+        }
+    }
+
+    void addAll(LatencySamples other) {
+        for (int i = 0; i < other.size; i++) {
+            record(other.values[i], false);
+        }
+        errors += other.errors;
+    }
+
+    long getErrors() {
+        return errors;
+    }
+
+    long[] toArray() {
+        return Arrays.copyOf(values, size);
+    }
+}
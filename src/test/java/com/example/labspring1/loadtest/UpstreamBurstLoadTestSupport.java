@@ -0,0 +1,127 @@
+package com.example.labspring1.loadtest;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Hammers the upstream-backed endpoint with {@code loadtest.burst.concurrency} clients while every request
+ * pays a full round-trip to a slow BSUIR stub. Subclasses pick the threading mode; both append to
+ * target/load-test/upstream-burst.txt so the runs can be compared side by side.
+ */
+@Tag("load")
+@ActiveProfiles("loadtest")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "bsuir.timetable.ttl-minutes=0",
+        "bsuir.timetable.max-stale-minutes=0",
+        "bsuir.api.connect-timeout-ms=30000",
+        "bsuir.api.read-timeout-ms=60000",
+        "server.tomcat.max-connections=20000",
+        "server.tomcat.accept-count=20000"
+})
+abstract class UpstreamBurstLoadTestSupport {
+
+    private static final int CONCURRENCY = Integer.getInteger("loadtest.burst.concurrency", 1000);
+    private static final int DURATION_SECONDS = Integer.getInteger("loadtest.durationSeconds", 30);
+    private static final long UPSTREAM_LATENCY_MS = Long.getLong("loadtest.burst.upstreamLatencyMs", 500);
+    private static final String GROUP_NUMBER = "400000";
+
+    private static BsuirStubServer stub;
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+
+    @LocalServerPort
+    private int port;
+
+    @DynamicPropertySource
+    static void upstreamProperties(DynamicPropertyRegistry registry) throws IOException {
+        stub = new BsuirStubServer(UPSTREAM_LATENCY_MS);
+        registry.add("bsuir.api.url", stub::getUrlTemplate);
+    }
+
+    @AfterAll
+    static void stopStub() {
+        if (stub != null) {
+            stub.close();
+        }
+    }
+
+    protected abstract String mode();
+
+    @Test
+    void burst() throws Exception {
+        send(HttpRequest.newBuilder(uri("/api/groups"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"groupNumber\":\"" + GROUP_NUMBER + "\"}")));
+
+        long deadline = System.nanoTime() + DURATION_SECONDS * 1_000_000_000L;
+        List<Future<LatencySamples>> futures = new ArrayList<>();
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < CONCURRENCY; i++) {
+                futures.add(clients.submit(() -> work(deadline)));
+            }
+        }
+        LatencySamples merged = new LatencySamples();
+        for (Future<LatencySamples> future : futures) {
+            merged.addAll(future.get());
+        }
+
+        LatencyReport report = new LatencyReport();
+        report.add("GET /api/schedules/api", merged.toArray(), merged.getErrors());
+        String content = report.format(String.format("mode=%s concurrency=%d duration=%ds upstreamLatency=%dms",
+                mode(), CONCURRENCY, DURATION_SECONDS, UPSTREAM_LATENCY_MS), DURATION_SECONDS);
+        System.out.println(content);
+        Path file = Path.of("target", "load-test", "upstream-burst.txt");
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, content + System.lineSeparator(), StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    private LatencySamples work(long deadline) throws InterruptedException {
+        LatencySamples samples = new LatencySamples();
+        HttpRequest request = HttpRequest.newBuilder(uri("/api/schedules/api?group=" + GROUP_NUMBER + "&date=2025-03-12"))
+                .timeout(Duration.ofSeconds(60))
+                .GET()
+                .build();
+        while (System.nanoTime() < deadline) {
+            long start = System.nanoTime();
+            boolean failed;
+            try {
+                failed = httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() >= 400;
+            } catch (IOException e) {
+                failed = true;
+            }
+            samples.record(System.nanoTime() - start, failed);
+        }
+        return samples;
+    }
+
+    private void send(HttpRequest.Builder request) throws IOException, InterruptedException {
+        httpClient.send(request.build(), HttpResponse.BodyHandlers.discarding());
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.labspring1.loadtest;
+
+import org.springframework.test.context.TestPropertySource;
+
+@TestPropertySource(properties = "spring.threads.virtual.enabled=true")
+class VirtualThreadBurstLoadTest extends UpstreamBurstLoadTestSupport {
+
+    @Override
+    protected String mode() {
+        return "virtual";
+    }
+}
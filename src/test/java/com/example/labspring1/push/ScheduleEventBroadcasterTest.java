@@ -0,0 +1,116 @@
+package com.example.labspring1.push;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScheduleEventBroadcasterTest {
+
+    private final Queue<Runnable> tasks = new ArrayDeque<>();
+    private final Map<SseEmitter, List<String>> sent = new HashMap<>();
+    private ScheduleEventBroadcaster broadcaster;
+
+    @BeforeEach
+    void setUp() {
+        broadcaster = new ScheduleEventBroadcaster(tasks::add, 60_000, 4) {
+            @Override
+            SseEmitter createEmitter(long timeout) {
+                return new RecordingEmitter(timeout);
+            }
+        };
+    }
+
+    @Test
+    @DisplayName("Schedule events reach only subscribers of the affected group")
+    void testFanOutByGroup() {
+        SseEmitter first = broadcaster.subscribe(Map.of(1L, "334701"));
+        SseEmitter second = broadcaster.subscribe(Map.of(2L, "334702"));
+        runTasks();
+
+        broadcaster.onScheduleChanged(new ScheduleChangedEvent(List.of(1L), List.of(10L), "UPDATED"));
+        broadcaster.onTimetableRefreshed(new TimetableRefreshedEvent("334702", 0L));
+        runTasks();
+
+        assertEquals(List.of("subscribed", "schedule"), sent.get(first));
+        assertEquals(List.of("subscribed", "timetable"), sent.get(second));
+    }
+
+    @Test
+    @DisplayName("Events with unknown groups are broadcast to every subscriber")
+    void testBroadcastWhenGroupsUnknown() {
+        SseEmitter first = broadcaster.subscribe(Map.of(1L, "334701"));
+        SseEmitter second = broadcaster.subscribe(Map.of(2L, "334702"));
+
+        broadcaster.onScheduleChanged(new ScheduleChangedEvent(List.of(), List.of(10L, 11L), "DELETED"));
+        runTasks();
+
+        assertEquals(List.of("subscribed", "schedule"), sent.get(first));
+        assertEquals(List.of("subscribed", "schedule"), sent.get(second));
+    }
+
+    @Test
+    @DisplayName("A subscriber that falls behind gets a single resync instead of the backlog")
+    void testOverflowCollapsesToResync() {
+        SseEmitter emitter = broadcaster.subscribe(Map.of(1L, "334701"));
+        for (long i = 0; i < 10; i++) {
+            broadcaster.onScheduleChanged(new ScheduleChangedEvent(List.of(1L), List.of(i), "UPDATED"));
+        }
+        runTasks();
+
+        assertEquals("resync", sent.get(emitter).get(0));
+        assertTrue(sent.get(emitter).size() <= 4);
+    }
+
+    @Test
+    @DisplayName("Completed streams are unsubscribed")
+    void testCompletionUnsubscribes() {
+        SseEmitter emitter = broadcaster.subscribe(Map.of(1L, "334701"));
+        runTasks();
+        assertEquals(1, broadcaster.getSubscriberCount());
+
+        ((RecordingEmitter) emitter).failNextSend = true;
+        broadcaster.heartbeat();
+        runTasks();
+
+        assertEquals(0, broadcaster.getSubscriberCount());
+    }
+
+    private void runTasks() {
+        Runnable task;
+        while ((task = tasks.poll()) != null) {
+            task.run();
+        }
+    }
+
+    private class RecordingEmitter extends SseEmitter {
+        private boolean failNextSend;
+
+        RecordingEmitter(long timeout) {
+            super(timeout);
+            sent.put(this, new ArrayList<>());
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            if (failNextSend) {
+                throw new IOException("broken pipe");
+            }
+            String text = builder.build().stream()
+                    .map(part -> String.valueOf(part.getData()))
+                    .collect(Collectors.joining());
+            sent.get(this).add(text.startsWith("event:") ? text.substring(6, text.indexOf('\n')) : "heartbeat");
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.labspring1.ratelimit;
+
+import org.apache.catalina.filters.RemoteIpFilter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.support.PropertiesLoaderUtils;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockFilterConfig;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimitFilterTest {
+
+    private final RateLimitFilter filter = new RateLimitFilter(true, 2, 0.001, 64, 2, 0.001,
+            new String[] {"partner-key"}, 100);
+
+    @Test
+    @DisplayName("should limit unknown API keys by address so random keys get no fresh budget")
+    void shouldIgnoreUnknownApiKeys() throws Exception {
+        assertEquals(200, send("GET", "/api/groups", UUID.randomUUID().toString()));
+        assertEquals(200, send("GET", "/api/groups", UUID.randomUUID().toString()));
+        assertEquals(429, send("GET", "/api/groups", UUID.randomUUID().toString()));
+        assertEquals(200, send("GET", "/api/groups", "partner-key"));
+    }
+
+    @Test
+    @DisplayName("should keep a separate budget per route with ids collapsed")
+    void shouldLimitPerRoute() throws Exception {
+        assertEquals(200, send("GET", "/api/groups/1", null));
+        assertEquals(200, send("GET", "/api/groups/2", null));
+        assertEquals(429, send("GET", "/api/groups/3", null));
+        assertEquals(200, send("GET", "/api/schedules", null));
+        assertEquals("/api/groups/number/{id}", RateLimitFilter.route("/api/groups/number/334701"));
+    }
+
+    @Test
+    @DisplayName("should limit clients behind a trusted proxy by X-Forwarded-For and ignore it from anyone else")
+    void shouldUseForwardedAddressFromTrustedProxies() throws Exception {
+        MockFilterConfig config = new MockFilterConfig();
+        config.addInitParameter("internalProxies", PropertiesLoaderUtils
+                .loadProperties(new ClassPathResource("application.properties"))
+                .getProperty("server.tomcat.remoteip.internal-proxies"));
+        RemoteIpFilter remoteIp = new RemoteIpFilter();
+        remoteIp.init(config);
+
+        assertEquals(200, sendVia(remoteIp, "10.0.0.5", "203.0.113.1"));
+        assertEquals(200, sendVia(remoteIp, "10.0.0.5", "203.0.113.1"));
+        assertEquals(429, sendVia(remoteIp, "10.0.0.5", "203.0.113.1"));
+        assertEquals(200, sendVia(remoteIp, "10.0.0.5", "203.0.113.2"));
+
+        assertEquals(200, sendVia(remoteIp, "198.51.100.7", "203.0.113.3"));
+        assertEquals(200, sendVia(remoteIp, "198.51.100.7", "203.0.113.4"));
+        assertEquals(429, sendVia(remoteIp, "198.51.100.7", "203.0.113.5"));
+    }
+
+    private int sendVia(RemoteIpFilter remoteIp, String proxy, String forwardedFor) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/groups");
+        request.setRemoteAddr(proxy);
+        request.addHeader("X-Forwarded-For", forwardedFor);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        remoteIp.doFilter(request, response, (req, res) -> filter.doFilter(req, res, new MockFilterChain()));
+        return response.getStatus();
+    }
+
+    private int send(String method, String uri, String apiKey) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+        if (apiKey != null) {
+            request.addHeader("X-API-Key", apiKey);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response.getStatus();
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.labspring1.repository;
+
+import com.example.labspring1.model.ChangeLogEntry;
+import com.example.labspring1.model.Group;
+import com.example.labspring1.model.Schedule;
+import com.example.labspring1.service.ChangeLogService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+class BulkDeleteTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private GroupRepository groupRepository;
+
+    @Autowired
+    private ScheduleRepository scheduleRepository;
+
+    @Autowired
+    private ChangeLogRepository changeLogRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("Deleting groups removes their schedules through the database cascade")
+    void testGroupDeleteCascades() {
+        Group first = entityManager.persist(new Group("334701"));
+        Group second = entityManager.persist(new Group("334702"));
+        Group kept = entityManager.persist(new Group("334703"));
+        Schedule math = entityManager.persist(new Schedule("Math", "LK", "09:00", "101", first));
+        Schedule physics = entityManager.persist(new Schedule("Physics", "LK", "10:35", "102", second));
+        entityManager.persist(new Schedule("History", "LK", "12:25", "103", kept));
+        entityManager.flush();
+
+        ChangeLogService changeLogService = new ChangeLogService(changeLogRepository, jdbcTemplate, 168, 5_000);
+        assertEquals(2, changeLogService.recordSchedulesOfGroups(ChangeLogEntry.Operation.DELETED,
+                List.of(first.getId(), second.getId())));
+        assertEquals(2, groupRepository.deleteAllByIds(List.of(first.getId(), second.getId(), -1L)));
+
+        assertEquals(1, groupRepository.count());
+        assertEquals(1, scheduleRepository.count());
+        assertEquals(List.of(math.getId(), physics.getId()), changeLogRepository.findAll().stream()
+                .filter(entry -> entry.getEntityType() == ChangeLogEntry.EntityType.SCHEDULE
+                        && entry.getOperation() == ChangeLogEntry.Operation.DELETED)
+                .map(ChangeLogEntry::getEntityId).sorted().toList());
+    }
+
+    @Test
+    @DisplayName("Recording many changes inserts one change log row per id")
+    void testRecordManyInBatch() {
+        ChangeLogService changeLogService = new ChangeLogService(changeLogRepository, jdbcTemplate, 168, 5_000);
+
+        changeLogService.record(ChangeLogEntry.EntityType.GROUP, ChangeLogEntry.Operation.DELETED, List.of(7L, 8L, 9L));
+
+        assertEquals(List.of(7L, 8L, 9L), changeLogRepository.findAll().stream()
+                .map(ChangeLogEntry::getEntityId).sorted().toList());
+        assertNotNull(changeLogRepository.findMinIdChangedAfter(Instant.now().minusSeconds(60)));
+    }
+
+    @Test
+    @DisplayName("Single delete reports whether a row was removed")
+    void testSingleDeleteCount() {
+        Group group = entityManager.persist(new Group("334701"));
+        Schedule schedule = entityManager.persistAndFlush(new Schedule("Math", "LK", "09:00", "101", group));
+
+        assertEquals(List.of(group.getId()), scheduleRepository.findGroupIdsByIds(List.of(schedule.getId(), -1L)));
+        assertEquals(1, scheduleRepository.deleteOneById(schedule.getId()));
+        assertEquals(0, scheduleRepository.deleteOneById(schedule.getId()));
+    }
+}
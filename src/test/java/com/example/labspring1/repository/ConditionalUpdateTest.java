@@ -0,0 +1,56 @@
+package com.example.labspring1.repository;
+
+import com.example.labspring1.model.Group;
+import com.example.labspring1.model.Schedule;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+class ConditionalUpdateTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private GroupRepository groupRepository;
+
+    @Autowired
+    private ScheduleRepository scheduleRepository;
+
+    @Test
+    @DisplayName("Group patch applies only when the version matches")
+    void testGroupPatch() {
+        Group group = entityManager.persistFlushFind(new Group("334701"));
+
+        assertEquals(0, groupRepository.patch(group.getId(), group.getVersion() + 1, "334799"));
+        assertEquals(1, groupRepository.patch(group.getId(), group.getVersion(), "334702"));
+
+        Group reloaded = entityManager.find(Group.class, group.getId());
+        assertEquals("334702", reloaded.getGroupNumber());
+        assertEquals(group.getVersion() + 1, reloaded.getVersion());
+    }
+
+    @Test
+    @DisplayName("Schedule patch keeps fields that are not supplied and can move the schedule")
+    void testSchedulePatch() {
+        Group first = entityManager.persist(new Group("334701"));
+        Group second = entityManager.persist(new Group("334702"));
+        Schedule schedule = entityManager.persistFlushFind(new Schedule("Math", "LK", "09:00", "101", first));
+
+        assertEquals(1, scheduleRepository.patch(schedule.getId(), 0L, null, "PZ", null, null));
+        assertEquals(1, scheduleRepository.patchWithGroup(schedule.getId(), 1L, "Physics", null, null, null,
+                groupRepository.getReferenceById(second.getId())));
+
+        Schedule reloaded = entityManager.find(Schedule.class, schedule.getId());
+        assertEquals("Physics", reloaded.getSubject());
+        assertEquals("PZ", reloaded.getLessonType());
+        assertEquals("09:00", reloaded.getTime());
+        assertEquals(second.getId(), reloaded.getGroup().getId());
+        assertEquals(2L, reloaded.getVersion());
+    }
+}
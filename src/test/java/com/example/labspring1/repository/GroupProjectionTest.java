@@ -0,0 +1,38 @@
+package com.example.labspring1.repository;
+
+import com.example.labspring1.model.Group;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+class GroupProjectionTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private GroupRepository groupRepository;
+
+    @Test
+    @DisplayName("Summaries carry id, number and version without touching schedules")
+    void testSummaries() {
+        Group group = entityManager.persistAndFlush(new Group("334701"));
+        entityManager.clear();
+
+        List<GroupSummary> summaries = groupRepository.findAllSummaries();
+
+        assertEquals(1, summaries.size());
+        assertEquals(group.getId(), summaries.get(0).getId());
+        assertEquals("334701", summaries.get(0).getGroupNumber());
+        assertEquals(0L, summaries.get(0).getVersion());
+        assertTrue(groupRepository.findSummaryByGroupNumber("334701").isPresent());
+        assertTrue(groupRepository.findSummaryById(-1L).isEmpty());
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.labspring1.repository;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.output.MigrateResult;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MigrationBaselineTest {
+
+    private JdbcDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+
+        // What ddl-auto=update left behind before migrations existed: no version columns, no change_log
+        jdbcTemplate.execute("CREATE TABLE groups (id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, "
+                + "group_number VARCHAR(255) NOT NULL UNIQUE)");
+        jdbcTemplate.execute("CREATE TABLE schedules (id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, "
+                + "subject VARCHAR(255) NOT NULL, lesson_type VARCHAR(255), time VARCHAR(255), "
+                + "auditorium VARCHAR(255), group_id BIGINT NOT NULL, "
+                + "CONSTRAINT fk_schedules_group FOREIGN KEY (group_id) REFERENCES groups (id))");
+        jdbcTemplate.update("INSERT INTO groups (id, group_number) VALUES (1, '123456')");
+        jdbcTemplate.update("INSERT INTO schedules (subject, group_id) VALUES ('Math', 1)");
+    }
+
+    @Test
+    @DisplayName("A pre-migration database is baselined at V1 and gets every later migration")
+    void testBaselineThenMigrate() {
+        MigrateResult result = Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration", "classpath:db/vendor/h2")
+                .baselineOnMigrate(true)
+                .baselineVersion("1")
+                .load()
+                .migrate();
+
+        assertTrue(result.success);
+        assertEquals("4", result.targetSchemaVersion);
+        assertEquals(0L, jdbcTemplate.queryForObject("SELECT version FROM groups WHERE id = 1", Long.class));
+        assertEquals(0L, jdbcTemplate.queryForObject("SELECT version FROM schedules", Long.class));
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM change_log", Integer.class));
+
+        jdbcTemplate.update("DELETE FROM groups WHERE id = 1");
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM schedules", Integer.class));
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.labspring1.repository;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.flyway.enabled=true",
+        "spring.jpa.hibernate.ddl-auto=validate"
+})
+class MigrationSchemaTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("The Flyway migrations produce the schema the entity mappings expect")
+    void testMigrationsMatchMappings() {
+        assertEquals(Boolean.TRUE, jdbcTemplate.queryForObject(
+                "SELECT \"success\" FROM \"flyway_schema_history\" WHERE \"version\" = '4'", Boolean.class));
+    }
+}
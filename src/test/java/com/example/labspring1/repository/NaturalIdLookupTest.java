@@ -0,0 +1,49 @@
+package com.example.labspring1.repository;
+
+import com.example.labspring1.model.Group;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+class NaturalIdLookupTest {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private GroupRepository groupRepository;
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @DisplayName("A resolved group number is served from the natural-id cache without SQL")
+    void testCachedResolution() {
+        Group group = groupRepository.save(new Group("334701"));
+        try {
+            assertEquals(group.getId(), groupRepository.findIdByGroupNumber("334701").orElseThrow());
+
+            Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+            statistics.clear();
+
+            assertEquals(group.getId(), groupRepository.findIdByGroupNumber("334701").orElseThrow());
+            assertEquals(0, statistics.getPrepareStatementCount());
+            assertEquals(1, statistics.getNaturalIdCacheHitCount());
+        } finally {
+            groupRepository.deleteAll();
+        }
+    }
+
+    @Test
+    @DisplayName("An unknown group number resolves to empty")
+    void testUnknownNumber() {
+        assertTrue(groupRepository.findIdByGroupNumber("000000").isEmpty());
+    }
+}
@@ -0,0 +1,139 @@
+package com.example.labspring1.service;
+
+import com.example.labspring1.dto.ChangesDto;
+import com.example.labspring1.model.ChangeLogEntry;
+import com.example.labspring1.repository.ChangeLogRepository;
+import com.example.labspring1.repository.GroupRepository;
+import com.example.labspring1.repository.GroupSummary;
+import com.example.labspring1.repository.ScheduleRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ChangeFeedServiceTest {
+
+    @Mock
+    private ChangeLogRepository changeLogRepository;
+
+    @Mock
+    private ChangeLogService changeLogService;
+
+    @Mock
+    private GroupRepository groupRepository;
+
+    @Mock
+    private ScheduleRepository scheduleRepository;
+
+    @Mock
+    private ScheduleService scheduleService;
+
+    @Mock
+    private RequestCounter requestCounter;
+
+    private ChangeFeedService changeFeedService;
+
+    @BeforeEach
+    void setUp() {
+        changeFeedService = new ChangeFeedService(changeLogRepository, changeLogService, groupRepository, scheduleRepository,
+                scheduleService, requestCounter, 2);
+    }
+
+    @Test
+    @DisplayName("Missing or pruned tokens trigger a full resync")
+    void testResync() {
+        when(changeLogRepository.findMinId()).thenReturn(50L);
+        when(changeLogRepository.findMaxId()).thenReturn(60L);
+        when(changeLogService.committedToken()).thenReturn(58L);
+
+        ChangesDto withoutToken = changeFeedService.changesSince(null);
+        ChangesDto prunedToken = changeFeedService.changesSince(10L);
+
+        assertTrue(withoutToken.isResync());
+        assertTrue(prunedToken.isResync());
+        assertEquals(58L, prunedToken.getToken());
+        verify(changeLogRepository, never())
+                .findByIdGreaterThanAndIdLessThanEqualOrderByIdAsc(any(), any(), any(Pageable.class));
+    }
+
+    @Test
+    @DisplayName("A window collapses to one operation per record and pages by token")
+    void testIncrementalChanges() {
+        when(changeLogRepository.findMinId()).thenReturn(1L);
+        when(changeLogRepository.findMaxId()).thenReturn(20L);
+        when(changeLogService.committedToken()).thenReturn(20L);
+        List<ChangeLogEntry> entries = List.of(
+                entry(11L, 1L, ChangeLogEntry.Operation.CREATED),
+                entry(12L, 1L, ChangeLogEntry.Operation.UPDATED),
+                entry(13L, 2L, ChangeLogEntry.Operation.DELETED));
+        when(changeLogRepository.findByIdGreaterThanAndIdLessThanEqualOrderByIdAsc(eq(10L), eq(20L), any(Pageable.class)))
+                .thenReturn(entries);
+        GroupSummary summary = mock(GroupSummary.class);
+        when(summary.getId()).thenReturn(1L);
+        when(groupRepository.findSummariesByIds(List.of(1L))).thenReturn(List.of(summary));
+
+        ChangesDto changes = changeFeedService.changesSince(10L);
+
+        assertFalse(changes.isResync());
+        assertTrue(changes.isHasMore());
+        assertEquals(12L, changes.getToken());
+        assertEquals(1, changes.getCreatedGroups().size());
+        assertTrue(changes.getUpdatedGroups().isEmpty());
+        assertTrue(changes.getDeletedGroupIds().isEmpty());
+    }
+
+    @Test
+    @DisplayName("A record created and deleted within the window is not reported")
+    void testCreatedThenDeleted() {
+        when(changeLogRepository.findMinId()).thenReturn(1L);
+        when(changeLogRepository.findMaxId()).thenReturn(20L);
+        when(changeLogService.committedToken()).thenReturn(20L);
+        List<ChangeLogEntry> entries = List.of(
+                entry(11L, 3L, ChangeLogEntry.Operation.CREATED),
+                entry(12L, 3L, ChangeLogEntry.Operation.DELETED));
+        when(changeLogRepository.findByIdGreaterThanAndIdLessThanEqualOrderByIdAsc(eq(10L), eq(20L), any(Pageable.class)))
+                .thenReturn(entries);
+
+        ChangesDto changes = changeFeedService.changesSince(10L);
+
+        assertEquals(12L, changes.getToken());
+        assertTrue(changes.getCreatedGroups().isEmpty());
+        assertTrue(changes.getDeletedGroupIds().isEmpty());
+        verifyNoInteractions(groupRepository);
+    }
+
+    @Test
+    @DisplayName("The token does not pass entries that may still be committing")
+    void testTokenStopsAtCommittedEntries() {
+        when(changeLogRepository.findMinId()).thenReturn(1L);
+        when(changeLogRepository.findMaxId()).thenReturn(11L);
+        when(changeLogService.committedToken()).thenReturn(9L);
+
+        ChangesDto changes = changeFeedService.changesSince(9L);
+
+        assertFalse(changes.isResync());
+        assertEquals(9L, changes.getToken());
+        verify(changeLogRepository, never())
+                .findByIdGreaterThanAndIdLessThanEqualOrderByIdAsc(any(), any(), any(Pageable.class));
+    }
+
+    private static ChangeLogEntry entry(long id, long entityId, ChangeLogEntry.Operation operation) {
+        ChangeLogEntry entry = mock(ChangeLogEntry.class);
+        lenient().when(entry.getId()).thenReturn(id);
+        lenient().when(entry.getEntityId()).thenReturn(entityId);
+        lenient().when(entry.getEntityType()).thenReturn(ChangeLogEntry.EntityType.GROUP);
+        lenient().when(entry.getOperation()).thenReturn(operation);
+        return entry;
+    }
+}
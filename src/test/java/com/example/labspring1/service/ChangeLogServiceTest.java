@@ -0,0 +1,37 @@
+package com.example.labspring1.service;
+
+import com.example.labspring1.repository.ChangeLogRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class ChangeLogServiceTest {
+
+    private final ChangeLogRepository changeLogRepository = mock(ChangeLogRepository.class);
+    private final ChangeLogService changeLogService =
+            new ChangeLogService(changeLogRepository, mock(JdbcTemplate.class), 168, 5_000);
+
+    @Test
+    @DisplayName("The committed token stops before the oldest entry within the commit lag")
+    void testCommittedTokenStopsBeforeRecentEntries() {
+        when(changeLogRepository.findMinIdChangedAfter(any(Instant.class))).thenReturn(11L);
+
+        assertEquals(10L, changeLogService.committedToken());
+        verify(changeLogRepository, never()).findMaxId();
+    }
+
+    @Test
+    @DisplayName("Without recent entries the committed token is the last entry")
+    void testCommittedTokenWithoutRecentEntries() {
+        when(changeLogRepository.findMinIdChangedAfter(any(Instant.class))).thenReturn(null);
+        when(changeLogRepository.findMaxId()).thenReturn(42L);
+
+        assertEquals(42L, changeLogService.committedToken());
+    }
+}
@@ -2,6 +2,7 @@ package com.example.labspring1.service;
 
 import com.example.labspring1.cache.CacheManager;
 import com.example.labspring1.dto.GroupDto;
+import com.example.labspring1.invalidation.CacheInvalidator;
 import com.example.labspring1.model.Group;
 import com.example.labspring1.repository.GroupRepository;
 import jakarta.persistence.EntityNotFoundException;
@@ -34,6 +35,15 @@ class GroupServiceTest {
     @Mock
     private CacheManager cacheManager;
 
+    @Mock
+    private CacheInvalidator cacheInvalidator;
+
+    @Mock
+    private PrimaryLookup primaryLookup;
+
+    @Mock
+    private ChangeLogService changeLogService;
+
     @Mock
     private Group group;
 
@@ -200,18 +210,18 @@ class GroupServiceTest {
     @Test
     @DisplayName("should delete group successfully")
     void shouldDeleteGroupSuccessfully() {
-        when(groupRepository.existsById(1L)).thenReturn(true);
+        when(groupRepository.deleteOneById(1L)).thenReturn(1);
 
         groupService.delete(1L);
 
-        verify(groupRepository).deleteById(1L);
+        verify(groupRepository).deleteOneById(1L);
         verify(cacheManager).clearGroupCache();
     }
 
     @Test
     @DisplayName("should throw exception when deleting non-existent group")
     void shouldThrowExceptionWhenDeletingNonExistentGroup() {
-        when(groupRepository.existsById(1L)).thenReturn(false);
+        when(groupRepository.deleteOneById(1L)).thenReturn(0);
 
         assertThrows(EntityNotFoundException.class, () -> groupService.delete(1L));
     }
@@ -0,0 +1,38 @@
+package com.example.labspring1.service;
+
+import com.example.labspring1.repository.GroupRepository;
+import com.example.labspring1.repository.ScheduleRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class PrimaryLookupTest {
+
+    private final GroupRepository groupRepository = mock(GroupRepository.class);
+    private final ScheduleRepository scheduleRepository = mock(ScheduleRepository.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+
+    @Test
+    @DisplayName("Without a replica the miss is trusted and no second query runs")
+    void testNoReplica() {
+        PrimaryLookup lookup = new PrimaryLookup(groupRepository, scheduleRepository, transactionManager, false);
+
+        assertTrue(lookup.isGroupMissing(1L));
+        verifyNoInteractions(groupRepository, transactionManager);
+    }
+
+    @Test
+    @DisplayName("With a replica a miss is confirmed in a new transaction on the primary")
+    void testReplicaMissRechecked() {
+        PrimaryLookup lookup = new PrimaryLookup(groupRepository, scheduleRepository, transactionManager, true);
+        when(scheduleRepository.existsById(1L)).thenReturn(true);
+
+        assertFalse(lookup.isScheduleMissing(1L));
+        assertTrue(lookup.isScheduleMissing(2L));
+        verify(transactionManager, times(2)).getTransaction(any());
+    }
+}
@@ -2,11 +2,11 @@ package com.example.labspring1.service;
 
 import com.example.labspring1.cache.CacheManager;
 import com.example.labspring1.dto.ScheduleDto;
+import com.example.labspring1.invalidation.CacheInvalidator;
 import com.example.labspring1.model.Group;
 import com.example.labspring1.model.Schedule;
 import com.example.labspring1.repository.GroupRepository;
 import com.example.labspring1.repository.ScheduleRepository;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -16,7 +16,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.Collections;
 import java.util.List;
@@ -39,13 +39,22 @@ class ScheduleServiceTest {
     private ScheduleRepository scheduleRepository;
 
     @Mock
-    private RestTemplate restTemplate;
+    private TimetableService timetableService;
 
     @Mock
-    private ObjectMapper objectMapper;
+    private CacheManager cacheManager;
 
     @Mock
-    private CacheManager cacheManager;
+    private CacheInvalidator cacheInvalidator;
+
+    @Mock
+    private ChangeLogService changeLogService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PrimaryLookup primaryLookup;
 
     @Mock
     private Group group;
@@ -83,7 +92,6 @@ class ScheduleServiceTest {
     void shouldReturnAllSchedulesFromCache() {
         String cacheKey = "findAll";
         List<ScheduleDto> cachedSchedules = List.of(scheduleDto);
-        when(cacheManager.containsScheduleListKey(cacheKey)).thenReturn(true);
         when(cacheManager.getScheduleList(cacheKey)).thenReturn(cachedSchedules);
 
         List<ScheduleDto> result = scheduleService.findAll();
@@ -96,7 +104,6 @@ class ScheduleServiceTest {
     @DisplayName("should return all schedules from repository when cache is empty")
     void shouldReturnAllSchedulesFromRepository() {
         String cacheKey = "findAll";
-        when(cacheManager.containsScheduleListKey(cacheKey)).thenReturn(false);
         when(scheduleRepository.findAll()).thenReturn(List.of(schedule));
 
         List<ScheduleDto> result = scheduleService.findAll();
@@ -146,7 +153,6 @@ class ScheduleServiceTest {
     void shouldReturnSchedulesByGroupIdFromCache() {
         String cacheKey = "findByGroupId:1";
         List<ScheduleDto> cachedSchedules = List.of(scheduleDto);
-        when(cacheManager.containsScheduleListKey(cacheKey)).thenReturn(true);
         when(cacheManager.getScheduleList(cacheKey)).thenReturn(cachedSchedules);
 
         List<ScheduleDto> result = scheduleService.findByGroupId(1L);
@@ -159,7 +165,6 @@ class ScheduleServiceTest {
     @DisplayName("should return schedules by group id from repository when cache is empty")
     void shouldReturnSchedulesByGroupIdFromRepository() {
         String cacheKey = "findByGroupId:1";
-        when(cacheManager.containsScheduleListKey(cacheKey)).thenReturn(false);
         when(scheduleRepository.findByGroupId(1L)).thenReturn(List.of(schedule));
 
         List<ScheduleDto> result = scheduleService.findByGroupId(1L);
@@ -174,7 +179,6 @@ class ScheduleServiceTest {
     void shouldReturnSchedulesByGroupNumberAndDateFromCache() {
         String cacheKey = "findByGroupNumberAndDate:12345:2025-05-23";
         List<ScheduleDto> cachedSchedules = List.of(scheduleDto);
-        when(cacheManager.containsScheduleListKey(cacheKey)).thenReturn(true);
         when(cacheManager.getScheduleList(cacheKey)).thenReturn(cachedSchedules);
 
         List<ScheduleDto> result = scheduleService.findByGroupNumberAndDate("12345", "2025-05-23");
@@ -187,7 +191,6 @@ class ScheduleServiceTest {
     @DisplayName("should return schedules by group number and date from repository when cache is empty")
     void shouldReturnSchedulesByGroupNumberAndDateFromRepository() {
         String cacheKey = "findByGroupNumberAndDate:12345:2025-05-23";
-        when(cacheManager.containsScheduleListKey(cacheKey)).thenReturn(false);
         when(scheduleRepository.findByGroupNumberAndDate("12345", "2025-05-23")).thenReturn(List.of(schedule));
 
         List<ScheduleDto> result = scheduleService.findByGroupNumberAndDate("12345", "2025-05-23");
@@ -260,18 +263,18 @@ class ScheduleServiceTest {
     @Test
     @DisplayName("should delete schedule successfully")
     void shouldDeleteScheduleSuccessfully() {
-        when(scheduleRepository.existsById(1L)).thenReturn(true);
+        when(scheduleRepository.deleteOneById(1L)).thenReturn(1);
 
         scheduleService.delete(1L);
 
-        verify(scheduleRepository).deleteById(1L);
+        verify(scheduleRepository).deleteOneById(1L);
         verify(cacheManager).clearScheduleCache();
     }
 
     @Test
     @DisplayName("should throw exception when deleting non-existent schedule")
     void shouldThrowExceptionWhenDeletingNonExistentSchedule() {
-        when(scheduleRepository.existsById(1L)).thenReturn(false);
+        when(scheduleRepository.deleteOneById(1L)).thenReturn(0);
 
         assertThrows(EntityNotFoundException.class, () -> scheduleService.delete(1L));
     }
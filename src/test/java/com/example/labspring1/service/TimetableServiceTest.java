@@ -0,0 +1,142 @@
+package com.example.labspring1.service;
+
+import com.example.labspring1.cache.CacheManager;
+import com.example.labspring1.calendar.LessonCalendar;
+import com.example.labspring1.calendar.Timetable;
+import com.example.labspring1.client.BsuirClient;
+import com.example.labspring1.config.UpstreamExecutor;
+import com.example.labspring1.exception.InvalidRequestException;
+import com.example.labspring1.exception.NotFoundException;
+import com.example.labspring1.exception.UpstreamUnavailableException;
+import com.example.labspring1.push.TimetableRefreshedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TimetableServiceTest {
+
+    private static final long MINUTE = 60_000;
+
+    @Mock
+    private BsuirClient bsuirClient;
+
+    @Mock
+    private LessonCalendar lessonCalendar;
+
+    @Mock
+    private CacheManager cacheManager;
+
+    @Mock
+    private UpstreamExecutor upstreamExecutor;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private Timetable timetable;
+
+    private TimetableService timetableService;
+
+    @BeforeEach
+    void setUp() {
+        timetableService = new TimetableService(bsuirClient, lessonCalendar, cacheManager, upstreamExecutor,
+                eventPublisher, 60, 600);
+    }
+
+    @Test
+    @DisplayName("should return a fresh cached timetable without calling the upstream")
+    void shouldReturnFreshTimetable() throws Exception {
+        when(timetable.getFetchedAt()).thenReturn(System.currentTimeMillis());
+        when(cacheManager.getTimetable("334701")).thenReturn(timetable);
+
+        assertSame(timetable, timetableService.getTimetable("334701"));
+        assertFalse(timetableService.isStale(timetable));
+        verify(bsuirClient, never()).fetchSchedule(any());
+    }
+
+    @Test
+    @DisplayName("should serve an expired timetable immediately and refresh it in the background")
+    void shouldServeStaleAndRevalidate() throws Exception {
+        when(timetable.getFetchedAt()).thenReturn(System.currentTimeMillis() - 90 * MINUTE);
+        when(cacheManager.getTimetable("334701")).thenReturn(timetable);
+
+        assertSame(timetable, timetableService.getTimetable("334701"));
+        assertSame(timetable, timetableService.getTimetable("334701"));
+
+        assertTrue(timetableService.isStale(timetable));
+        verify(upstreamExecutor, times(1)).execute(any());
+        verify(bsuirClient, never()).fetchSchedule(any());
+    }
+
+    @Test
+    @DisplayName("should fall back to the last known timetable when a blocking refresh fails")
+    void shouldFallBackWhenTooOldAndUpstreamFails() throws Exception {
+        when(timetable.getFetchedAt()).thenReturn(System.currentTimeMillis() - 700 * MINUTE);
+        when(cacheManager.getTimetable("334701")).thenReturn(timetable);
+        when(bsuirClient.fetchSchedule("334701")).thenThrow(new UpstreamUnavailableException("circuit open"));
+
+        assertSame(timetable, timetableService.getTimetable("334701"));
+    }
+
+    @Test
+    @DisplayName("should fetch and cache the timetable on first use")
+    void shouldFetchOnMiss() throws Exception {
+        Map<String, Object> response = Map.of("schedules", Map.of());
+        when(bsuirClient.fetchSchedule("334701")).thenReturn(response);
+        when(lessonCalendar.compile("334701", response)).thenReturn(timetable);
+
+        assertSame(timetable, timetableService.getTimetable("334701"));
+        verify(cacheManager).putTimetable("334701", timetable);
+    }
+
+    @Test
+    @DisplayName("should publish a refresh event only when the upstream timetable changed")
+    void shouldPublishOnlyChangedTimetables() throws Exception {
+        Map<String, Object> response = Map.of("schedules", Map.of());
+        Map<String, Object> changed = Map.of("schedules", Map.of("Понедельник", List.of()));
+        when(bsuirClient.fetchSchedule("334701")).thenReturn(response).thenReturn(response).thenReturn(changed);
+        when(lessonCalendar.compile(eq("334701"), any())).thenReturn(timetable);
+
+        timetableService.refresh("334701");
+        timetableService.refresh("334701");
+        timetableService.refresh("334701");
+
+        verify(eventPublisher, times(2)).publishEvent(any(TimetableRefreshedEvent.class));
+    }
+
+    @Test
+    @DisplayName("should report the upstream as unavailable when nothing is cached")
+    void shouldFailWithoutFallback() throws Exception {
+        when(bsuirClient.fetchSchedule("334701")).thenThrow(new IOException("timeout"));
+
+        assertThrows(UpstreamUnavailableException.class, () -> timetableService.getTimetable("334701"));
+    }
+
+    @Test
+    @DisplayName("should report upstream 4xx responses as client errors, not as an outage")
+    void shouldMapClientErrors() throws Exception {
+        when(bsuirClient.fetchSchedule("999999"))
+                .thenThrow(HttpClientErrorException.create(HttpStatus.NOT_FOUND, "Not Found", null, null, null));
+        when(bsuirClient.fetchSchedule("bad"))
+                .thenThrow(HttpClientErrorException.create(HttpStatus.BAD_REQUEST, "Bad Request", null, null, null));
+
+        assertThrows(NotFoundException.class, () -> timetableService.getTimetable("999999"));
+        assertThrows(InvalidRequestException.class, () -> timetableService.getTimetable("bad"));
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.labspring1.timing;
+
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ServerTimingFilterTest {
+
+    private static final long MS = 1_000_000L;
+
+    @Test
+    @DisplayName("should report each layer the request used with durations and counts")
+    void shouldFormatHeader() {
+        RequestTiming timing = new RequestTiming(0);
+        timing.add(RequestTiming.Phase.DB, 2 * MS, 0);
+        timing.add(RequestTiming.Phase.DB, 1_250_000, 1);
+        timing.add(RequestTiming.Phase.DB, 750_000, 1);
+        timing.add(RequestTiming.Phase.CACHE, 50_000);
+        timing.bodyWriteStarted(10 * MS);
+        timing.finish(12 * MS);
+
+        assertEquals("db;dur=4.0;desc=\"2 statements\", cache;dur=0.1;desc=\"1 calls\", app;dur=10.0, "
+                + "json;dur=2.0, total;dur=12.0", timing.header());
+        assertTrue(timing.describe().contains("upstreamMs=0.0 upstreamCount=0"));
+    }
+
+    @Test
+    @DisplayName("should set the header on API responses and leave nothing behind on the thread")
+    void shouldSetHeaderAndClear() throws Exception {
+        ServerTimingFilter filter = new ServerTimingFilter(true, 1_000);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req,
+                                   HttpServletResponse resp) {
+                RequestTiming.current().add(RequestTiming.Phase.UPSTREAM, 3 * MS);
+            }
+        });
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/groups"), response, chain);
+
+        String header = response.getHeader("Server-Timing");
+        assertNotNull(header);
+        assertTrue(header.startsWith("upstream;dur=3.0;desc=\"1 calls\", app;dur="));
+        assertTrue(header.contains("total;dur="));
+        assertNull(RequestTiming.current());
+    }
+
+    @Test
+    @DisplayName("should skip non-API paths and do nothing when disabled")
+    void shouldSkipOutsideApi() throws Exception {
+        MockHttpServletResponse actuator = new MockHttpServletResponse();
+        new ServerTimingFilter(true, 1_000).doFilter(new MockHttpServletRequest("GET", "/actuator/health"),
+                actuator, new MockFilterChain());
+        MockHttpServletResponse disabled = new MockHttpServletResponse();
+        new ServerTimingFilter(false, 1_000).doFilter(new MockHttpServletRequest("GET", "/api/groups"),
+                disabled, new MockFilterChain());
+
+        assertNull(actuator.getHeader("Server-Timing"));
+        assertNull(disabled.getHeader("Server-Timing"));
+    }
+}
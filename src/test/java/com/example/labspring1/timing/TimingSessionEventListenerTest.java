@@ -0,0 +1,45 @@
+package com.example.labspring1.timing;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimingSessionEventListenerTest {
+
+    @AfterEach
+    void tearDown() {
+        RequestTiming.clear();
+    }
+
+    @Test
+    @DisplayName("should not count connection acquisition twice when it happens inside a prepare")
+    void shouldNotDoubleCountNestedAcquisition() throws InterruptedException {
+        RequestTiming timing = RequestTiming.begin();
+        TimingSessionEventListener listener = new TimingSessionEventListener();
+
+        listener.jdbcPrepareStatementStart();
+        listener.jdbcConnectionAcquisitionStart();
+        Thread.sleep(30);
+        listener.jdbcConnectionAcquisitionEnd();
+        listener.jdbcPrepareStatementEnd();
+        listener.jdbcExecuteStatementStart();
+        listener.jdbcExecuteStatementEnd();
+        timing.finish(System.nanoTime());
+
+        String described = timing.describe();
+        assertTrue(millis(described, "dbMs") >= 30, described);
+        assertTrue(millis(described, "dbMs") <= millis(described, "appMs"), described);
+        assertTrue(described.contains("dbCount=1"), described);
+    }
+
+    private static double millis(String described, String key) {
+        Matcher matcher = Pattern.compile(key + "=([0-9.]+)").matcher(described);
+        assertTrue(matcher.find(), described);
+        return Double.parseDouble(matcher.group(1));
+    }
+}